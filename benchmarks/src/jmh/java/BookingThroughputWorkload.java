@@ -0,0 +1,37 @@
+import java.time.LocalDateTime;
+
+import parking.bench.BookingWorkload;
+
+public class BookingThroughputWorkload implements BookingWorkload {
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private ParkingSystem system;
+    private ParkingSlot[] slots;
+
+    @Override
+    public void setUp(int slotCount) {
+        system = new ParkingSystem("bench-booking");
+        slots = new ParkingSlot[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            slots[i] = new ParkingSlot("S" + i, ParkingSlotType.REGULAR);
+            system.addParkingSlot(slots[i]);
+        }
+    }
+
+    @Override
+    public Customer newCustomer(int threadIndex) {
+        Vehicle vehicle = new Vehicle(threadIndex, VehicleType.CAR, 1_000_000_000.0);
+        return new Customer() {
+            private int sequence;
+
+            @Override
+            public Object bookAndCancel() {
+                ParkingSlot slot = slots[Math.floorMod(threadIndex * 31 + sequence, slots.length)];
+                LocalDateTime start = BASE.plusHours(2L * sequence++);
+                Booking booking = system.book(vehicle, slot, start, start.plusHours(1));
+                system.cancelBooking(booking);
+                return booking;
+            }
+        };
+    }
+}
@@ -0,0 +1,53 @@
+import java.time.LocalDateTime;
+
+import parking.bench.SearchWorkload;
+
+public class SlotSearchWorkload implements SearchWorkload {
+    private ParkingSystem system;
+    private Vehicle car;
+    private Vehicle bus;
+    private ParkingSlot deepSlot;
+    private LocalDateTime queryStart;
+    private LocalDateTime queryEnd;
+
+    @Override
+    public void setUp(int slotCount, int historyDepth, String engine) {
+        AvailabilityEngine availability = AvailabilityEngine.valueOf(engine);
+        system = new ParkingSystem("bench-search");
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        ParkingSlotType[] types = ParkingSlotType.values();
+        int bookingId = 0;
+        for (int i = 0; i < slotCount; i++) {
+            ParkingSlot slot = new ParkingSlot("S" + i, types[i % types.length], availability);
+            for (int d = 0; d < historyDepth; d++) {
+                LocalDateTime start = base.plusHours(d * 3L + (i % 3));
+                slot.getBookings().add(new Booking(++bookingId, null, slot, start, start.plusHours(2), 0.0));
+            }
+            system.addParkingSlot(slot);
+        }
+        deepSlot = new ParkingSlot("DEEP", ParkingSlotType.REGULAR, availability);
+        for (int d = 0; d < 100_000; d++) {
+            LocalDateTime start = base.plusHours(d);
+            deepSlot.getBookings().add(new Booking(++bookingId, null, deepSlot, start, start.plusMinutes(50), 0.0));
+        }
+        car = new Vehicle(1, VehicleType.CAR, 0.0);
+        bus = new Vehicle(2, VehicleType.BUS, 0.0);
+        queryStart = base.plusHours(historyDepth * 3L / 2);
+        queryEnd = queryStart.plusHours(1);
+    }
+
+    @Override
+    public Object searchCar() {
+        return system.getAvailableParkingSlots(car, queryStart, queryEnd);
+    }
+
+    @Override
+    public Object searchBus() {
+        return system.getAvailableParkingSlots(bus, queryStart, queryEnd);
+    }
+
+    @Override
+    public boolean isAvailableDeepHistory() {
+        return deepSlot.isAvailable(queryStart.plusMinutes(50), queryEnd);
+    }
+}
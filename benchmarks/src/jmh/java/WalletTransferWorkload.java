@@ -0,0 +1,16 @@
+import parking.bench.WalletWorkload;
+
+public class WalletTransferWorkload implements WalletWorkload {
+    private Wallet systemWallet;
+
+    @Override
+    public void setUp() {
+        systemWallet = new Wallet();
+    }
+
+    @Override
+    public Sender newSender() {
+        Wallet wallet = new Wallet(1_000_000_000.0);
+        return () -> wallet.transferFunds(systemWallet, 1.25);
+    }
+}
@@ -0,0 +1,60 @@
+package parking.bench;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BookingThroughputBenchmark {
+    static final int SLOTS = 1024;
+
+    @State(Scope.Benchmark)
+    public static class Facility {
+        BookingWorkload workload;
+        AtomicInteger nextThread = new AtomicInteger();
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            workload = Workloads.create("BookingThroughputWorkload", BookingWorkload.class);
+            workload.setUp(SLOTS);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Customer {
+        BookingWorkload.Customer customer;
+
+        @Setup(Level.Trial)
+        public void setUp(Facility facility) {
+            customer = facility.workload.newCustomer(facility.nextThread.getAndIncrement());
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object bookCancel1Thread(Customer customer) {
+        return customer.customer.bookAndCancel();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Object bookCancel8Threads(Customer customer) {
+        return customer.customer.bookAndCancel();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public Object bookCancel32Threads(Customer customer) {
+        return customer.customer.bookAndCancel();
+    }
+}
@@ -0,0 +1,11 @@
+package parking.bench;
+
+public interface BookingWorkload {
+    void setUp(int slotCount);
+
+    Customer newCustomer(int threadIndex);
+
+    interface Customer {
+        Object bookAndCancel();
+    }
+}
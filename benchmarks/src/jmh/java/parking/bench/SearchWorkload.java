@@ -0,0 +1,11 @@
+package parking.bench;
+
+public interface SearchWorkload {
+    void setUp(int slotCount, int historyDepth, String engine);
+
+    Object searchCar();
+
+    Object searchBus();
+
+    boolean isAvailableDeepHistory();
+}
@@ -0,0 +1,50 @@
+package parking.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SlotSearchBenchmark {
+    @Param({"1000", "10000", "100000"})
+    int slotCount;
+
+    @Param({"16"})
+    int historyDepth;
+
+    @Param({"EXACT", "BITMAP"})
+    String engine;
+
+    SearchWorkload workload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        workload = Workloads.create("SlotSearchWorkload", SearchWorkload.class);
+        workload.setUp(slotCount, historyDepth, engine);
+    }
+
+    @Benchmark
+    public Object searchCar() {
+        return workload.searchCar();
+    }
+
+    @Benchmark
+    public Object searchBus() {
+        return workload.searchBus();
+    }
+
+    @Benchmark
+    public boolean isAvailableDeepHistory() {
+        return workload.isAvailableDeepHistory();
+    }
+}
@@ -0,0 +1,57 @@
+package parking.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class WalletTransferBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class SharedWallet {
+        WalletWorkload workload;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            workload = Workloads.create("WalletTransferWorkload", WalletWorkload.class);
+            workload.setUp();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class OwnWallet {
+        WalletWorkload.Sender sender;
+
+        @Setup(Level.Trial)
+        public void setUp(SharedWallet shared) {
+            sender = shared.workload.newSender();
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void transferToShared1Thread(OwnWallet own) {
+        own.sender.transfer();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void transferToShared8Threads(OwnWallet own) {
+        own.sender.transfer();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public void transferToShared32Threads(OwnWallet own) {
+        own.sender.transfer();
+    }
+}
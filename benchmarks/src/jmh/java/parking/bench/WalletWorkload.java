@@ -0,0 +1,11 @@
+package parking.bench;
+
+public interface WalletWorkload {
+    void setUp();
+
+    Sender newSender();
+
+    interface Sender {
+        void transfer();
+    }
+}
@@ -0,0 +1,19 @@
+package parking.bench;
+
+/**
+ * JMH only accepts benchmark classes in a named package, while the parking classes live in the
+ * default package. Each benchmark therefore drives a workload interface declared here and
+ * implemented in the default package, loaded once per trial by class name.
+ */
+public final class Workloads {
+    private Workloads() {
+    }
+
+    public static <T> T create(String className, Class<T> type) {
+        try {
+            return type.cast(Class.forName(className).getDeclaredConstructor().newInstance());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create workload " + className, e);
+        }
+    }
+}
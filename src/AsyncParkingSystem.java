@@ -0,0 +1,163 @@
+import java.lang.reflect.Method;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking front for a {@link ParkingSystem}: each call returns a {@link CompletableFuture}.
+ * The build targets Java 17, so virtual threads (one per call) are only used when running on
+ * Java 21 or later; otherwise calls share a fixed pool of {@link #POOL_THREADS} daemon threads
+ * and the default limit drops accordingly. At most {@code maxInFlight} calls are accepted at
+ * once; further calls fail straight away with {@link AdmissionRejectedException}.
+ */
+public class AsyncParkingSystem implements AutoCloseable {
+    private static final Method NEW_VIRTUAL_THREAD_EXECUTOR = virtualThreadExecutorFactory();
+
+    public static final boolean VIRTUAL_THREADS = NEW_VIRTUAL_THREAD_EXECUTOR != null;
+    public static final int POOL_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors() * 2);
+    public static final int DEFAULT_MAX_IN_FLIGHT = VIRTUAL_THREADS ? 10_000 : 256;
+
+    private final ParkingSystem system;
+    private final ExecutorService executor;
+    private final boolean ownsExecutor;
+    private final Semaphore permits;
+    private final int maxInFlight;
+
+    public AsyncParkingSystem(ParkingSystem system) {
+        this(system, DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    public AsyncParkingSystem(ParkingSystem system, int maxInFlight) {
+        this(system, maxInFlight, newExecutor(maxInFlight), true);
+    }
+
+    public AsyncParkingSystem(ParkingSystem system, int maxInFlight, ExecutorService executor) {
+        this(system, maxInFlight, executor, false);
+    }
+
+    private AsyncParkingSystem(ParkingSystem system, int maxInFlight, ExecutorService executor, boolean ownsExecutor) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("At least one call must be allowed in flight.");
+        }
+        this.system = system;
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+        this.permits = new Semaphore(maxInFlight);
+        this.maxInFlight = maxInFlight;
+    }
+
+    public CompletableFuture<Booking> book(Vehicle vehicle, ParkingSlot slot, LocalDateTime startTime, LocalDateTime endTime) {
+        return submit(() -> system.book(vehicle, slot, startTime, endTime));
+    }
+
+    public CompletableFuture<Booking> completeBooking(Booking booking) {
+        return submit(() -> {
+            system.completeBooking(booking);
+            return booking;
+        });
+    }
+
+    public CompletableFuture<Booking> cancelBooking(Booking booking) {
+        return submit(() -> {
+            system.cancelBooking(booking);
+            return booking;
+        });
+    }
+
+    public CompletableFuture<Booking> completeBooking(int bookingId) {
+        return submit(() -> {
+            system.completeBooking(bookingId);
+            return system.getBooking(bookingId);
+        });
+    }
+
+    public CompletableFuture<Booking> cancelBooking(int bookingId) {
+        return submit(() -> {
+            system.cancelBooking(bookingId);
+            return system.getBooking(bookingId);
+        });
+    }
+
+    public ParkingSystem getParkingSystem() {
+        return system;
+    }
+
+    public int getInFlight() {
+        return maxInFlight - permits.availablePermits();
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> call) {
+        if (!permits.tryAcquire()) {
+            return CompletableFuture.failedFuture(new AdmissionRejectedException(maxInFlight));
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                T value = null;
+                RuntimeException failure = null;
+                try {
+                    value = call.get();
+                } catch (RuntimeException e) {
+                    failure = e;
+                } finally {
+                    permits.release();
+                }
+                if (failure != null) {
+                    result.completeExceptionally(failure);
+                } else {
+                    result.complete(value);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    @Override
+    public void close() {
+        if (ownsExecutor) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    static ExecutorService newExecutor(int maxInFlight) {
+        if (VIRTUAL_THREADS) {
+            try {
+                return (ExecutorService) NEW_VIRTUAL_THREAD_EXECUTOR.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Cannot start virtual threads.", e);
+            }
+        }
+        return Executors.newFixedThreadPool(Math.min(maxInFlight, POOL_THREADS), task -> {
+            Thread thread = new Thread(task, "parking-async");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static Method virtualThreadExecutorFactory() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
+
+class AdmissionRejectedException extends RuntimeException {
+    public AdmissionRejectedException(int maxInFlight) {
+        super("Too many booking calls in flight (limit " + maxInFlight + ").");
+    }
+}
@@ -0,0 +1,28 @@
+/**
+ * How a slot answers availability queries. {@code EXACT} walks the interval index;
+ * {@code BITMAP} first tests an {@link OccupancyBitmap} and only falls back to the
+ * interval index when the window's buckets are not all free. The default can be set
+ * with the {@code parking.availability} system property.
+ */
+public enum AvailabilityEngine {
+    EXACT,
+    BITMAP;
+
+    public static final String CONFIG_PROPERTY = "parking.availability";
+
+    private static volatile AvailabilityEngine defaultEngine = null;
+
+    public static AvailabilityEngine getDefault() {
+        AvailabilityEngine engine = defaultEngine;
+        if (engine == null) {
+            String configured = System.getProperty(CONFIG_PROPERTY);
+            engine = configured == null || configured.isBlank() ? EXACT : valueOf(configured.trim().toUpperCase());
+            defaultEngine = engine;
+        }
+        return engine;
+    }
+
+    public static void configure(AvailabilityEngine engine) {
+        defaultEngine = engine;
+    }
+}
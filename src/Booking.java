@@ -4,17 +4,21 @@ public class Booking {
     private int bookingId;
     private Vehicle vehicle;
     private ParkingSlot parkingSlot;
-    private LocalDateTime startTime;
-    private LocalDateTime endTime;
+    private long startMinute;
+    private long endMinute;
     private double amount;
     private BookingStatus bookingStatus;
 
     public Booking(int bookingId, Vehicle vehicle, ParkingSlot parkingSlot, LocalDateTime startTime, LocalDateTime endTime, double amount) {
+        this(bookingId, vehicle, parkingSlot, FacilityTime.toMinutes(startTime), FacilityTime.toMinutesCeil(endTime), amount);
+    }
+
+    public Booking(int bookingId, Vehicle vehicle, ParkingSlot parkingSlot, long startMinute, long endMinute, double amount) {
         this.bookingId = bookingId;
         this.vehicle = vehicle;
         this.parkingSlot = parkingSlot;
-        this.startTime = startTime;
-        this.endTime = endTime;
+        this.startMinute = startMinute;
+        this.endMinute = endMinute;
         this.amount = amount;
         this.bookingStatus = BookingStatus.ACTIVE;
     }
@@ -32,11 +36,19 @@ public class Booking {
     }
 
     public LocalDateTime getStartTime() {
-        return startTime;
+        return FacilityTime.toDateTime(startMinute);
     }
 
     public LocalDateTime getEndTime() {
-        return endTime;
+        return FacilityTime.toDateTime(endMinute);
+    }
+
+    public long getStartMinute() {
+        return startMinute;
+    }
+
+    public long getEndMinute() {
+        return endMinute;
     }
 
     public double getAmount() {
@@ -55,14 +67,32 @@ public class Booking {
         this.bookingStatus = BookingStatus.CANCELLED;
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Booking)) {
+            return false;
+        }
+        Booking other = (Booking) o;
+        return bookingId == other.bookingId && startMinute == other.startMinute && endMinute == other.endMinute
+                && vehicle == other.vehicle && parkingSlot == other.parkingSlot;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Integer.hashCode(bookingId) + Long.hashCode(startMinute);
+    }
+
     @Override
     public String toString() {
         return "Booking{" +
                 "bookingId=" + bookingId +
                 ", vehicle=" + vehicle +
                 ", parkingSlot=" + parkingSlot +
-                ", startTime=" + startTime +
-                ", endTime=" + endTime +
+                ", startTime=" + getStartTime() +
+                ", endTime=" + getEndTime() +
                 ", amount=" + amount +
                 ", bookingStatus=" + bookingStatus +
                 '}';
@@ -0,0 +1,15 @@
+/**
+ * Closed bookings of a slot: cancelled, completed or already in the past. These never take
+ * part in availability checks, so they are kept apart from the live index in columnar form
+ * and only turned back into {@link Booking} objects when read.
+ */
+public class BookingHistory extends BookingStore {
+    public boolean updateStatus(Booking booking) {
+        int row = indexOf(booking);
+        if (row < 0) {
+            return false;
+        }
+        setStatus(row, booking.getBookingStatus());
+        return true;
+    }
+}
@@ -0,0 +1,367 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Append-only journal of bookings and wallet transfers, written through memory-mapped segments
+ * of a single file in fixed-size binary records. Transfer records carry the balances of both
+ * wallets after the move, so replay restores balances without knowing how they started.
+ * Payout records carry a slot's pending payout after it changed, again as an absolute amount.
+ * A record's type byte is written last; replay stops at the first record without one.
+ * {@link #atomically(Runnable)} groups records so a crash keeps all of them or none.
+ * Appends are serialized by a {@link ReentrantLock} rather than a monitor, so virtual threads
+ * waiting on the journal do not pin their carrier.
+ */
+public class BookingJournal implements Closeable {
+    public static final int RECORD_SIZE = 128;
+    public static final int SEGMENT_SIZE = 1 << 26;
+    public static final int MAX_SLOT_ID_BYTES = RECORD_SIZE - 74;
+
+    public static final byte BOOK = 1;
+    public static final byte COMPLETE = 2;
+    public static final byte CANCEL = 3;
+    public static final byte TRANSFER = 4;
+    public static final byte PAYOUT = 5;
+
+    public static final byte PARTY_SYSTEM = 0;
+    public static final byte PARTY_VEHICLE = 1;
+    public static final byte PARTY_SLOT = 2;
+
+    private static final int MAGIC = 0x504B4A31;
+    private static final int VERSION = 1;
+
+    private static final int TYPE = 0;
+    private static final int VEHICLE_TYPE = 1;
+    private static final int FROM_PARTY = 2;
+    private static final int TO_PARTY = 3;
+    private static final int BOOKING_ID = 4;
+    private static final int SEQUENCE = 8;
+    private static final int VEHICLE_ID = 16;
+    private static final int START_MINUTE = 24;
+    private static final int END_MINUTE = 32;
+    private static final int AMOUNT = 40;
+    private static final int FROM_BALANCE = 48;
+    private static final int TO_BALANCE = 56;
+    private static final int SLOT_ID_LENGTH = 72;
+    private static final int SLOT_ID = 74;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private long position;
+    private long lastSequence;
+    private int batchDepth;
+    private final List<Long> uncommitted = new ArrayList<>();
+    private final List<Byte> uncommittedTypes = new ArrayList<>();
+
+    private BookingJournal(Path path, FileChannel channel) {
+        this.path = path;
+        this.channel = channel;
+    }
+
+    public static BookingJournal open(Path path) {
+        try {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            BookingJournal journal = new BookingJournal(path, channel);
+            journal.start(channel.size() == 0);
+            return journal;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open booking journal " + path, e);
+        }
+    }
+
+    private void start(boolean empty) {
+        ByteBuffer header = segment(0);
+        if (empty) {
+            header.putInt(0, MAGIC);
+            header.putInt(4, VERSION);
+            header.putInt(8, RECORD_SIZE);
+        } else if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION || header.getInt(8) != RECORD_SIZE) {
+            throw new IllegalStateException("Not a booking journal: " + path);
+        }
+        position = RECORD_SIZE;
+        while (true) {
+            ByteBuffer buffer = segment(position);
+            int offset = (int) (position % SEGMENT_SIZE);
+            if (buffer.get(offset + TYPE) == 0) {
+                break;
+            }
+            lastSequence = buffer.getLong(offset + SEQUENCE);
+            position += RECORD_SIZE;
+        }
+        // A batch cut short by a crash may have committed any of its records but the first, with
+        // gaps in between; drop every one of them up to the end of the file.
+        long end;
+        try {
+            end = channel.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read booking journal " + path, e);
+        }
+        for (long at = position + RECORD_SIZE; at < end; at += RECORD_SIZE) {
+            ByteBuffer buffer = segment(at);
+            int offset = (int) (at % SEGMENT_SIZE);
+            if (buffer.get(offset + TYPE) != 0) {
+                buffer.put(offset + TYPE, (byte) 0);
+            }
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public long getLastSequence() {
+        lock.lock();
+        try {
+            return lastSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void appendBooking(byte type, Booking booking) {
+        lock.lock();
+        try {
+            ByteBuffer buffer = reserve();
+            int offset = (int) (position % SEGMENT_SIZE);
+            writeBooking(buffer, offset, booking);
+            commit(buffer, offset, type);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Moves {@code amount} between two wallets and journals the move in one step, so the
+     * balances written to the record are exactly the ones this transfer produced.
+     */
+    public void transfer(Booking booking, Wallet from, byte fromParty, Wallet to, byte toParty, double amount) {
+        lock.lock();
+        try {
+            from.transferFunds(to, amount);
+            ByteBuffer buffer = reserve();
+            int offset = (int) (position % SEGMENT_SIZE);
+            writeBooking(buffer, offset, booking);
+            buffer.put(offset + FROM_PARTY, fromParty);
+            buffer.put(offset + TO_PARTY, toParty);
+            buffer.putLong(offset + AMOUNT, Wallet.toMinorUnits(amount));
+            buffer.putLong(offset + FROM_BALANCE, from.getBalanceMinorUnits());
+            buffer.putLong(offset + TO_BALANCE, to.getBalanceMinorUnits());
+            commit(buffer, offset, TRANSFER);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs {@code batch} holding the journal, so no other record is appended in between. The
+     * records it appends get their type bytes only once it returns, last record first: replay
+     * stops at the first of them until all are committed, so a crash keeps all or none. If the
+     * batch throws, what it appended is still committed, since its wallet moves have happened.
+     */
+    public void atomically(Runnable batch) {
+        lock.lock();
+        try {
+            batchDepth++;
+            try {
+                batch.run();
+            } finally {
+                if (--batchDepth == 0) {
+                    for (int i = uncommitted.size() - 1; i >= 0; i--) {
+                        long at = uncommitted.get(i);
+                        segment(at).put((int) (at % SEGMENT_SIZE) + TYPE, uncommittedTypes.get(i));
+                    }
+                    uncommitted.clear();
+                    uncommittedTypes.clear();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Journals the pending payout {@code slot} has now, read while holding the journal. */
+    public void pendingPayout(ParkingSlot slot) {
+        lock.lock();
+        try {
+            ByteBuffer buffer = reserve();
+            int offset = (int) (position % SEGMENT_SIZE);
+            writeBooking(buffer, offset, new Booking(0, null, slot, 0L, 0L, 0.0));
+            buffer.put(offset + TO_PARTY, PARTY_SLOT);
+            buffer.putLong(offset + TO_BALANCE, slot.getPendingPayoutMinorUnits());
+            commit(buffer, offset, PAYOUT);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void sync() {
+        lock.lock();
+        try {
+            for (MappedByteBuffer segment : segments) {
+                segment.force();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Hands every record with a sequence number above {@code afterSequence} to the consumer,
+     * in order. The record object is a cursor over the mapped file and is reused between calls.
+     */
+    public long replay(long afterSequence, Consumer<Record> consumer) {
+        lock.lock();
+        try {
+            Record record = new Record();
+            long replayed = 0;
+            for (long at = RECORD_SIZE; at < position; at += RECORD_SIZE) {
+                record.buffer = segment(at);
+                record.offset = (int) (at % SEGMENT_SIZE);
+                if (record.getType() == 0) {
+                    break;
+                }
+                if (record.getSequence() > afterSequence) {
+                    consumer.accept(record);
+                    replayed++;
+                }
+            }
+            return replayed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            sync();
+            segments.clear();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot close booking journal " + path, e);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ByteBuffer reserve() {
+        return segment(position);
+    }
+
+    private void writeBooking(ByteBuffer buffer, int offset, Booking booking) {
+        buffer.putLong(offset + SEQUENCE, lastSequence + 1);
+        buffer.putInt(offset + BOOKING_ID, booking.getBookingId());
+        Vehicle vehicle = booking.getVehicle();
+        buffer.putInt(offset + VEHICLE_ID, vehicle == null ? 0 : vehicle.getVehicleId());
+        buffer.put(offset + VEHICLE_TYPE, (byte) (vehicle == null ? -1 : vehicle.getVehicleType().ordinal()));
+        buffer.putLong(offset + START_MINUTE, booking.getStartMinute());
+        buffer.putLong(offset + END_MINUTE, booking.getEndMinute());
+        buffer.putLong(offset + AMOUNT, Wallet.toMinorUnits(booking.getAmount()));
+        byte[] slotId = booking.getParkingSlot() == null ? new byte[0]
+                : booking.getParkingSlot().getSlotId().getBytes(StandardCharsets.UTF_8);
+        if (slotId.length > MAX_SLOT_ID_BYTES) {
+            throw new IllegalArgumentException("Slot ID is too long to journal: " + booking.getParkingSlot().getSlotId());
+        }
+        buffer.putShort(offset + SLOT_ID_LENGTH, (short) slotId.length);
+        buffer.put(offset + SLOT_ID, slotId, 0, slotId.length);
+    }
+
+    private void commit(ByteBuffer buffer, int offset, byte type) {
+        if (batchDepth > 0) {
+            uncommitted.add(position);
+            uncommittedTypes.add(type);
+        } else {
+            buffer.put(offset + TYPE, type);
+        }
+        lastSequence++;
+        position += RECORD_SIZE;
+    }
+
+    private MappedByteBuffer segment(long at) {
+        int index = (int) (at / SEGMENT_SIZE);
+        try {
+            while (segments.size() <= index) {
+                segments.add(channel.map(FileChannel.MapMode.READ_WRITE, (long) segments.size() * SEGMENT_SIZE, SEGMENT_SIZE));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot map booking journal " + path, e);
+        }
+        return segments.get(index);
+    }
+
+    /** Read-only cursor over one journal record. */
+    public static class Record {
+        private ByteBuffer buffer;
+        private int offset;
+
+        public byte getType() {
+            return buffer.get(offset + TYPE);
+        }
+
+        public long getSequence() {
+            return buffer.getLong(offset + SEQUENCE);
+        }
+
+        public int getBookingId() {
+            return buffer.getInt(offset + BOOKING_ID);
+        }
+
+        public int getVehicleId() {
+            return buffer.getInt(offset + VEHICLE_ID);
+        }
+
+        public VehicleType getVehicleType() {
+            byte ordinal = buffer.get(offset + VEHICLE_TYPE);
+            return ordinal < 0 ? null : VehicleType.values()[ordinal];
+        }
+
+        public String getSlotId() {
+            byte[] slotId = new byte[buffer.getShort(offset + SLOT_ID_LENGTH)];
+            buffer.get(offset + SLOT_ID, slotId);
+            return new String(slotId, StandardCharsets.UTF_8);
+        }
+
+        public long getStartMinute() {
+            return buffer.getLong(offset + START_MINUTE);
+        }
+
+        public long getEndMinute() {
+            return buffer.getLong(offset + END_MINUTE);
+        }
+
+        public long getAmountMinorUnits() {
+            return buffer.getLong(offset + AMOUNT);
+        }
+
+        public byte getFromParty() {
+            return buffer.get(offset + FROM_PARTY);
+        }
+
+        public byte getToParty() {
+            return buffer.get(offset + TO_PARTY);
+        }
+
+        public long getFromBalanceMinorUnits() {
+            return buffer.getLong(offset + FROM_BALANCE);
+        }
+
+        public long getToBalanceMinorUnits() {
+            return buffer.getLong(offset + TO_BALANCE);
+        }
+    }
+}
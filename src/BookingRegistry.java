@@ -0,0 +1,218 @@
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Booking list of a parking system with constant-time lookup by booking ID, vehicle and slot.
+ * IDs come from an atomic counter that only moves forward, so they stay unique even when
+ * the list is cleared or replaced. {@link #archive()} moves closed bookings into a columnar
+ * {@link BookingStore}; they stay listed and can still be looked up, as views. The archive
+ * has its own read/write lock, so lookups never wait on the list monitor that bookings take.
+ */
+public class BookingRegistry extends AbstractList<Booking> {
+    private final List<Booking> bookings = new ArrayList<>();
+    private final BookingStore archived = new BookingStore();
+    private final ReentrantReadWriteLock archiveLock = new ReentrantReadWriteLock();
+    private final Map<Integer, Booking> byId = new ConcurrentHashMap<>();
+    private final Map<Vehicle, Set<Booking>> byVehicle = new ConcurrentHashMap<>();
+    private final Map<ParkingSlot, Set<Booking>> bySlot = new ConcurrentHashMap<>();
+    private final AtomicInteger lastId = new AtomicInteger();
+
+    public int nextId() {
+        return lastId.incrementAndGet();
+    }
+
+    public int getLastId() {
+        return lastId.get();
+    }
+
+    public void advanceIds(int usedId) {
+        lastId.accumulateAndGet(usedId, Math::max);
+    }
+
+    public Booking getBooking(int bookingId) {
+        Booking booking = findBooking(bookingId);
+        if (booking == null) {
+            throw new BookingNotFoundException(bookingId);
+        }
+        return booking;
+    }
+
+    public Booking findBooking(int bookingId) {
+        Booking booking = byId.get(bookingId);
+        return booking != null ? booking : findArchived(bookingId);
+    }
+
+    public Collection<Booking> getBookings(Vehicle vehicle) {
+        return withArchived(byVehicle.get(vehicle), archivedByVehicle(vehicle));
+    }
+
+    public Collection<Booking> getBookings(ParkingSlot slot) {
+        return withArchived(bySlot.get(slot), archivedBySlot(slot));
+    }
+
+    public synchronized int archive() {
+        int moved = 0;
+        archiveLock.writeLock().lock();
+        try {
+            java.util.Iterator<Booking> it = bookings.iterator();
+            while (it.hasNext()) {
+                Booking booking = it.next();
+                if (booking.getBookingStatus() != BookingStatus.ACTIVE) {
+                    it.remove();
+                    archived.add(booking);
+                    unindex(booking);
+                    moved++;
+                }
+            }
+        } finally {
+            archiveLock.writeLock().unlock();
+        }
+        return moved;
+    }
+
+    public int archivedSize() {
+        archiveLock.readLock().lock();
+        try {
+            return archived.size();
+        } finally {
+            archiveLock.readLock().unlock();
+        }
+    }
+
+    private Booking findArchived(int bookingId) {
+        archiveLock.readLock().lock();
+        try {
+            int row = archived.findRow(bookingId);
+            return row < 0 ? null : archived.get(row);
+        } finally {
+            archiveLock.readLock().unlock();
+        }
+    }
+
+    private List<Booking> archivedByVehicle(Vehicle vehicle) {
+        archiveLock.readLock().lock();
+        try {
+            return archived.findByVehicle(vehicle);
+        } finally {
+            archiveLock.readLock().unlock();
+        }
+    }
+
+    private List<Booking> archivedBySlot(ParkingSlot slot) {
+        archiveLock.readLock().lock();
+        try {
+            return archived.findBySlot(slot);
+        } finally {
+            archiveLock.readLock().unlock();
+        }
+    }
+
+    private static Collection<Booking> withArchived(Set<Booking> live, List<Booking> archivedBookings) {
+        if (archivedBookings.isEmpty()) {
+            return live == null ? Collections.emptySet() : Collections.unmodifiableSet(live);
+        }
+        if (live != null) {
+            archivedBookings.addAll(live);
+        }
+        return Collections.unmodifiableList(archivedBookings);
+    }
+
+    @Override
+    public synchronized Booking get(int index) {
+        int archivedSize = archived.size();
+        return index < archivedSize ? archived.get(index) : bookings.get(index - archivedSize);
+    }
+
+    @Override
+    public synchronized int size() {
+        return archived.size() + bookings.size();
+    }
+
+    @Override
+    public synchronized void add(int index, Booking booking) {
+        int archivedSize = archived.size();
+        if (index < 0 || index > archivedSize + bookings.size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + (archivedSize + bookings.size()));
+        }
+        bookings.add(Math.max(0, index - archivedSize), booking);
+        index(booking);
+    }
+
+    @Override
+    public synchronized Booking set(int index, Booking booking) {
+        Booking previous = remove(index);
+        add(index, booking);
+        return previous;
+    }
+
+    @Override
+    public synchronized Booking remove(int index) {
+        int archivedSize = archived.size();
+        if (index < archivedSize) {
+            archiveLock.writeLock().lock();
+            try {
+                return archived.remove(index);
+            } finally {
+                archiveLock.writeLock().unlock();
+            }
+        }
+        Booking removed = bookings.remove(index - archivedSize);
+        unindex(removed);
+        return removed;
+    }
+
+    @Override
+    public synchronized void clear() {
+        archiveLock.writeLock().lock();
+        try {
+            archived.clear();
+        } finally {
+            archiveLock.writeLock().unlock();
+        }
+        bookings.clear();
+        byId.clear();
+        byVehicle.clear();
+        bySlot.clear();
+    }
+
+    private void index(Booking booking) {
+        byId.put(booking.getBookingId(), booking);
+        lastId.accumulateAndGet(booking.getBookingId(), Math::max);
+        if (booking.getVehicle() != null) {
+            byVehicle.computeIfAbsent(booking.getVehicle(), k -> ConcurrentHashMap.newKeySet()).add(booking);
+        }
+        if (booking.getParkingSlot() != null) {
+            bySlot.computeIfAbsent(booking.getParkingSlot(), k -> ConcurrentHashMap.newKeySet()).add(booking);
+        }
+    }
+
+    private void unindex(Booking booking) {
+        byId.remove(booking.getBookingId(), booking);
+        if (booking.getVehicle() != null) {
+            Set<Booking> forVehicle = byVehicle.get(booking.getVehicle());
+            if (forVehicle != null) {
+                forVehicle.remove(booking);
+            }
+        }
+        if (booking.getParkingSlot() != null) {
+            Set<Booking> forSlot = bySlot.get(booking.getParkingSlot());
+            if (forSlot != null) {
+                forSlot.remove(booking);
+            }
+        }
+    }
+}
+
+class BookingNotFoundException extends RuntimeException {
+    public BookingNotFoundException(int bookingId) {
+        super("No booking found with ID " + bookingId + ".");
+    }
+}
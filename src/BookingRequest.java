@@ -0,0 +1,34 @@
+import java.time.LocalDateTime;
+
+public class BookingRequest {
+    private final Vehicle vehicle;
+    private final LocalDateTime startTime;
+    private final LocalDateTime endTime;
+
+    public BookingRequest(Vehicle vehicle, LocalDateTime startTime, LocalDateTime endTime) {
+        this.vehicle = vehicle;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    public Vehicle getVehicle() {
+        return vehicle;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    @Override
+    public String toString() {
+        return "BookingRequest{" +
+                "vehicle=" + vehicle +
+                ", startTime=" + startTime +
+                ", endTime=" + endTime +
+                '}';
+    }
+}
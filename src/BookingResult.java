@@ -0,0 +1,44 @@
+public class BookingResult {
+    private final BookingRequest request;
+    private final Booking booking;
+    private final RuntimeException failure;
+
+    private BookingResult(BookingRequest request, Booking booking, RuntimeException failure) {
+        this.request = request;
+        this.booking = booking;
+        this.failure = failure;
+    }
+
+    public static BookingResult succeeded(BookingRequest request, Booking booking) {
+        return new BookingResult(request, booking, null);
+    }
+
+    public static BookingResult failed(BookingRequest request, RuntimeException failure) {
+        return new BookingResult(request, null, failure);
+    }
+
+    public BookingRequest getRequest() {
+        return request;
+    }
+
+    public Booking getBooking() {
+        return booking;
+    }
+
+    public RuntimeException getFailure() {
+        return failure;
+    }
+
+    public boolean isSuccess() {
+        return failure == null;
+    }
+
+    @Override
+    public String toString() {
+        return "BookingResult{" +
+                "request=" + request +
+                ", booking=" + booking +
+                ", failure=" + failure +
+                '}';
+    }
+}
@@ -0,0 +1,208 @@
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Single-writer execution mode for a {@link ParkingSystem}. Callers publish book, complete
+ * and cancel commands into a pre-allocated ring buffer; one writer thread applies them in
+ * sequence order, so slot lists, wallets and the journal see a single total order and the
+ * locks inside {@code ParkingSystem} are never contended. Results are returned as futures,
+ * completed on the writer thread; attach dependent work with the {@code *Async} methods.
+ * An idle writer spins briefly, then parks until a publisher or {@link #close()} wakes it.
+ */
+public class BookingSequencer implements AutoCloseable {
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private static final int BOOK = 0;
+    private static final int COMPLETE = 1;
+    private static final int CANCEL = 2;
+    private static final int SPINS_BEFORE_PARK = 200;
+
+    private final ParkingSystem system;
+    private final Command[] ring;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong(-1);
+    private final AtomicLongArray published;
+    private final AtomicInteger publishing = new AtomicInteger();
+    private final Thread writer;
+    private volatile long consumed = -1;
+    private volatile boolean running = true;
+    private volatile boolean writerParked;
+
+    public BookingSequencer(ParkingSystem system) {
+        this(system, DEFAULT_CAPACITY);
+    }
+
+    public BookingSequencer(ParkingSystem system, int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a positive power of two.");
+        }
+        this.system = system;
+        this.ring = new Command[capacity];
+        for (int i = 0; i < capacity; i++) {
+            ring[i] = new Command();
+        }
+        this.mask = capacity - 1;
+        this.published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            published.set(i, -1);
+        }
+        this.writer = new Thread(this::run, "booking-sequencer-" + system.getFacilityId());
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public CompletableFuture<Booking> book(Vehicle vehicle, ParkingSlot slot, LocalDateTime startTime, LocalDateTime endTime) {
+        CompletableFuture<Booking> result = new CompletableFuture<>();
+        long sequence = claim(result);
+        if (sequence >= 0) {
+            Command command = ring[(int) (sequence & mask)];
+            command.type = BOOK;
+            command.vehicle = vehicle;
+            command.slot = slot;
+            command.startTime = startTime;
+            command.endTime = endTime;
+            command.result = result;
+            publish(sequence);
+        }
+        return result;
+    }
+
+    public CompletableFuture<Booking> completeBooking(Booking booking) {
+        return settle(COMPLETE, booking);
+    }
+
+    public CompletableFuture<Booking> cancelBooking(Booking booking) {
+        return settle(CANCEL, booking);
+    }
+
+    public long getPublished() {
+        return claimed.get() + 1;
+    }
+
+    public long getApplied() {
+        return consumed + 1;
+    }
+
+    private CompletableFuture<Booking> settle(int type, Booking booking) {
+        CompletableFuture<Booking> result = new CompletableFuture<>();
+        long sequence = claim(result);
+        if (sequence >= 0) {
+            Command command = ring[(int) (sequence & mask)];
+            command.type = type;
+            command.booking = booking;
+            command.result = result;
+            publish(sequence);
+        }
+        return result;
+    }
+
+    private long claim(CompletableFuture<Booking> result) {
+        publishing.incrementAndGet();
+        if (!running) {
+            publishing.decrementAndGet();
+            if (writerParked) {
+                LockSupport.unpark(writer);
+            }
+            result.completeExceptionally(new IllegalStateException("Booking sequencer is closed."));
+            return -1;
+        }
+        long sequence = claimed.incrementAndGet();
+        while (sequence - ring.length > consumed) {
+            LockSupport.parkNanos(1_000);
+        }
+        return sequence;
+    }
+
+    private void publish(long sequence) {
+        published.set((int) (sequence & mask), sequence);
+        publishing.decrementAndGet();
+        if (writerParked) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private void run() {
+        long next = 0;
+        int idle = 0;
+        while (running || publishing.get() > 0 || next <= claimed.get()) {
+            int index = (int) (next & mask);
+            if (published.get(index) != next) {
+                if (++idle < SPINS_BEFORE_PARK) {
+                    Thread.onSpinWait();
+                } else {
+                    writerParked = true;
+                    if (published.get(index) != next && (running || publishing.get() > 0 || next <= claimed.get())) {
+                        LockSupport.park(this);
+                    }
+                    writerParked = false;
+                }
+                continue;
+            }
+            idle = 0;
+            Command command = ring[index];
+            CompletableFuture<Booking> result = command.result;
+            Booking booking = null;
+            RuntimeException failure = null;
+            try {
+                booking = apply(command);
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+            command.clear();
+            consumed = next++;
+            if (failure != null) {
+                result.completeExceptionally(failure);
+            } else {
+                result.complete(booking);
+            }
+        }
+    }
+
+    private Booking apply(Command command) {
+        switch (command.type) {
+            case BOOK:
+                return system.book(command.vehicle, command.slot, command.startTime, command.endTime);
+            case COMPLETE:
+                system.completeBooking(command.booking);
+                return command.booking;
+            default:
+                system.cancelBooking(command.booking);
+                return command.booking;
+        }
+    }
+
+    /** Stops accepting commands, applies everything already published and ends the writer. */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Command {
+        private int type;
+        private Vehicle vehicle;
+        private ParkingSlot slot;
+        private LocalDateTime startTime;
+        private LocalDateTime endTime;
+        private Booking booking;
+        private CompletableFuture<Booking> result;
+
+        private void clear() {
+            vehicle = null;
+            slot = null;
+            startTime = null;
+            endTime = null;
+            booking = null;
+            result = null;
+        }
+    }
+}
@@ -0,0 +1,341 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bookings kept column by column in parallel primitive arrays: ID, vehicle and slot references,
+ * start and end minutes, amount in cents and a status byte. Vehicles and slots are stored once
+ * in small dictionaries and referenced by position. {@link #get(int)} builds a {@link Booking}
+ * view on demand; changing the view does not write back. Rows are indexed by booking ID,
+ * vehicle and slot, so lookups do not scan the columns.
+ */
+public class BookingStore {
+    private static final BookingStatus[] STATUSES = BookingStatus.values();
+
+    private int size = 0;
+    private int[] ids = new int[0];
+    private int[] vehicleRefs = new int[0];
+    private int[] slotRefs = new int[0];
+    private long[] startMinutes = new long[0];
+    private long[] endMinutes = new long[0];
+    private long[] amountCents = new long[0];
+    private byte[] statuses = new byte[0];
+    private int[] idOrder = new int[0];
+
+    private final List<Vehicle> vehicles = new ArrayList<>();
+    private final Map<Vehicle, Integer> vehicleRefsByVehicle = new IdentityHashMap<>();
+    private final List<ParkingSlot> slots = new ArrayList<>();
+    private final Map<ParkingSlot, Integer> slotRefsBySlot = new IdentityHashMap<>();
+    private final List<RowList> vehicleRows = new ArrayList<>();
+    private final List<RowList> slotRows = new ArrayList<>();
+
+    public int size() {
+        return size;
+    }
+
+    public Booking get(int row) {
+        checkRow(row);
+        Booking booking = new Booking(ids[row], getVehicle(row), getParkingSlot(row), startMinutes[row], endMinutes[row],
+                amountCents[row] / (double) Wallet.MINOR_UNITS_PER_UNIT);
+        if (statuses[row] == BookingStatus.COMPLETED.ordinal()) {
+            booking.completeBooking();
+        } else if (statuses[row] == BookingStatus.CANCELLED.ordinal()) {
+            booking.cancelBooking();
+        }
+        return booking;
+    }
+
+    public int getBookingId(int row) {
+        checkRow(row);
+        return ids[row];
+    }
+
+    public Vehicle getVehicle(int row) {
+        checkRow(row);
+        return vehicleRefs[row] < 0 ? null : vehicles.get(vehicleRefs[row]);
+    }
+
+    public ParkingSlot getParkingSlot(int row) {
+        checkRow(row);
+        return slotRefs[row] < 0 ? null : slots.get(slotRefs[row]);
+    }
+
+    public long getStartMinute(int row) {
+        checkRow(row);
+        return startMinutes[row];
+    }
+
+    public long getEndMinute(int row) {
+        checkRow(row);
+        return endMinutes[row];
+    }
+
+    public long getAmountMinorUnits(int row) {
+        checkRow(row);
+        return amountCents[row];
+    }
+
+    public BookingStatus getStatus(int row) {
+        checkRow(row);
+        return STATUSES[statuses[row]];
+    }
+
+    public void setStatus(int row, BookingStatus status) {
+        checkRow(row);
+        statuses[row] = (byte) status.ordinal();
+    }
+
+    public int indexOf(Object o) {
+        if (!(o instanceof Booking)) {
+            return -1;
+        }
+        Booking booking = (Booking) o;
+        for (int k = firstOrder(booking.getBookingId()); k < size && ids[idOrder[k]] == booking.getBookingId(); k++) {
+            int row = idOrder[k];
+            if (startMinutes[row] == booking.getStartMinute() && endMinutes[row] == booking.getEndMinute()
+                    && getVehicle(row) == booking.getVehicle() && getParkingSlot(row) == booking.getParkingSlot()) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    public int findRow(int bookingId) {
+        int k = (bookingId == Integer.MAX_VALUE ? size : firstOrder(bookingId + 1)) - 1;
+        return k >= 0 && ids[idOrder[k]] == bookingId ? idOrder[k] : -1;
+    }
+
+    public List<Booking> findByVehicle(Vehicle vehicle) {
+        Integer ref = vehicleRefsByVehicle.get(vehicle);
+        return ref == null ? new ArrayList<>() : views(vehicleRows.get(ref));
+    }
+
+    public List<Booking> findBySlot(ParkingSlot slot) {
+        Integer ref = slotRefsBySlot.get(slot);
+        return ref == null ? new ArrayList<>() : views(slotRows.get(ref));
+    }
+
+    private List<Booking> views(RowList rows) {
+        List<Booking> found = new ArrayList<>(rows.count);
+        for (int i = 0; i < rows.count; i++) {
+            found.add(get(rows.rows[i]));
+        }
+        return found;
+    }
+
+    public void add(Booking booking) {
+        add(size, booking);
+    }
+
+    public void add(int row, Booking booking) {
+        if (row < 0 || row > size) {
+            throw new IndexOutOfBoundsException("Index " + row + " out of bounds for length " + size);
+        }
+        if (size == ids.length) {
+            grow(Math.max(4, size + (size >> 1)));
+        }
+        int moved = size - row;
+        if (moved > 0) {
+            System.arraycopy(ids, row, ids, row + 1, moved);
+            System.arraycopy(vehicleRefs, row, vehicleRefs, row + 1, moved);
+            System.arraycopy(slotRefs, row, slotRefs, row + 1, moved);
+            System.arraycopy(startMinutes, row, startMinutes, row + 1, moved);
+            System.arraycopy(endMinutes, row, endMinutes, row + 1, moved);
+            System.arraycopy(amountCents, row, amountCents, row + 1, moved);
+            System.arraycopy(statuses, row, statuses, row + 1, moved);
+            shiftOrder(row, 1);
+        }
+        size++;
+        write(row, booking);
+        insertOrder(row, size - 1);
+        if (moved > 0) {
+            rebuildRowLists();
+        } else {
+            appendRowLists(row);
+        }
+    }
+
+    public Booking set(int row, Booking booking) {
+        Booking previous = get(row);
+        int vehicleRef = vehicleRefs[row];
+        int slotRef = slotRefs[row];
+        removeOrder(row, size);
+        write(row, booking);
+        insertOrder(row, size - 1);
+        if (vehicleRefs[row] != vehicleRef || slotRefs[row] != slotRef) {
+            rebuildRowLists();
+        }
+        return previous;
+    }
+
+    public Booking remove(int row) {
+        Booking removed = get(row);
+        removeOrder(row, size);
+        int moved = size - 1 - row;
+        if (moved > 0) {
+            System.arraycopy(ids, row + 1, ids, row, moved);
+            System.arraycopy(vehicleRefs, row + 1, vehicleRefs, row, moved);
+            System.arraycopy(slotRefs, row + 1, slotRefs, row, moved);
+            System.arraycopy(startMinutes, row + 1, startMinutes, row, moved);
+            System.arraycopy(endMinutes, row + 1, endMinutes, row, moved);
+            System.arraycopy(amountCents, row + 1, amountCents, row, moved);
+            System.arraycopy(statuses, row + 1, statuses, row, moved);
+        }
+        size--;
+        if (moved > 0) {
+            shiftOrder(row + 1, -1);
+            rebuildRowLists();
+        } else {
+            popRowLists(row);
+        }
+        return removed;
+    }
+
+    public void clear() {
+        size = 0;
+        grow(0);
+        vehicles.clear();
+        vehicleRefsByVehicle.clear();
+        slots.clear();
+        slotRefsBySlot.clear();
+        vehicleRows.clear();
+        slotRows.clear();
+    }
+
+    public void trimToSize() {
+        if (ids.length > size) {
+            grow(size);
+        }
+    }
+
+    private void write(int row, Booking booking) {
+        ids[row] = booking.getBookingId();
+        vehicleRefs[row] = booking.getVehicle() == null ? -1
+                : vehicleRefsByVehicle.computeIfAbsent(booking.getVehicle(), v -> {
+                    vehicles.add(v);
+                    vehicleRows.add(new RowList());
+                    return vehicles.size() - 1;
+                });
+        slotRefs[row] = booking.getParkingSlot() == null ? -1
+                : slotRefsBySlot.computeIfAbsent(booking.getParkingSlot(), s -> {
+                    slots.add(s);
+                    slotRows.add(new RowList());
+                    return slots.size() - 1;
+                });
+        startMinutes[row] = booking.getStartMinute();
+        endMinutes[row] = booking.getEndMinute();
+        amountCents[row] = Wallet.toMinorUnits(booking.getAmount());
+        statuses[row] = (byte) booking.getBookingStatus().ordinal();
+    }
+
+    private void grow(int capacity) {
+        ids = Arrays.copyOf(ids, capacity);
+        vehicleRefs = Arrays.copyOf(vehicleRefs, capacity);
+        slotRefs = Arrays.copyOf(slotRefs, capacity);
+        startMinutes = Arrays.copyOf(startMinutes, capacity);
+        endMinutes = Arrays.copyOf(endMinutes, capacity);
+        amountCents = Arrays.copyOf(amountCents, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        idOrder = Arrays.copyOf(idOrder, capacity);
+    }
+
+    /** First position in {@code idOrder} whose booking ID is not below {@code bookingId}. */
+    private int firstOrder(int bookingId) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ids[idOrder[mid]] < bookingId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /** Rows are kept ordered by ID, then row, so appends with rising IDs land at the end. */
+    private int orderOf(int row, int count) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int other = idOrder[mid];
+            if (ids[other] < ids[row] || (ids[other] == ids[row] && other < row)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void insertOrder(int row, int count) {
+        int k = orderOf(row, count);
+        System.arraycopy(idOrder, k, idOrder, k + 1, count - k);
+        idOrder[k] = row;
+    }
+
+    private void removeOrder(int row, int count) {
+        int k = orderOf(row, count);
+        System.arraycopy(idOrder, k + 1, idOrder, k, count - k - 1);
+    }
+
+    private void shiftOrder(int fromRow, int by) {
+        for (int k = 0; k < size; k++) {
+            if (idOrder[k] >= fromRow) {
+                idOrder[k] += by;
+            }
+        }
+    }
+
+    private void appendRowLists(int row) {
+        if (vehicleRefs[row] >= 0) {
+            vehicleRows.get(vehicleRefs[row]).add(row);
+        }
+        if (slotRefs[row] >= 0) {
+            slotRows.get(slotRefs[row]).add(row);
+        }
+    }
+
+    private void popRowLists(int row) {
+        if (vehicleRefs[row] >= 0) {
+            vehicleRows.get(vehicleRefs[row]).count--;
+        }
+        if (slotRefs[row] >= 0) {
+            slotRows.get(slotRefs[row]).count--;
+        }
+    }
+
+    private void rebuildRowLists() {
+        for (RowList rows : vehicleRows) {
+            rows.count = 0;
+        }
+        for (RowList rows : slotRows) {
+            rows.count = 0;
+        }
+        for (int row = 0; row < size; row++) {
+            appendRowLists(row);
+        }
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Index " + row + " out of bounds for length " + size);
+        }
+    }
+
+    private static final class RowList {
+        private int[] rows = new int[2];
+        private int count;
+
+        private void add(int row) {
+            if (count == rows.length) {
+                rows = Arrays.copyOf(rows, count * 2);
+            }
+            rows[count++] = row;
+        }
+    }
+}
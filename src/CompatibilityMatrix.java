@@ -0,0 +1,119 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Which slot types each vehicle type may use, stored as one bitmask per vehicle type.
+ * The active matrix is built once at startup, either from the defaults below or from the
+ * properties file named by the {@code parking.compatibility} system property.
+ */
+public class CompatibilityMatrix {
+    public static final String CONFIG_PROPERTY = "parking.compatibility";
+
+    private static volatile CompatibilityMatrix instance = null;
+
+    private final int[] masks;
+    private final ParkingSlotType[][] allowedTypes;
+
+    public CompatibilityMatrix(Map<VehicleType, ? extends Collection<ParkingSlotType>> rules) {
+        masks = new int[VehicleType.values().length];
+        allowedTypes = new ParkingSlotType[VehicleType.values().length][];
+        for (VehicleType vehicleType : VehicleType.values()) {
+            EnumSet<ParkingSlotType> allowed = EnumSet.noneOf(ParkingSlotType.class);
+            Collection<ParkingSlotType> configured = rules.get(vehicleType);
+            if (configured != null) {
+                allowed.addAll(configured);
+            }
+            for (ParkingSlotType slotType : allowed) {
+                masks[vehicleType.ordinal()] |= 1 << slotType.ordinal();
+            }
+            allowedTypes[vehicleType.ordinal()] = allowed.toArray(new ParkingSlotType[0]);
+        }
+    }
+
+    public static CompatibilityMatrix defaults() {
+        Map<VehicleType, EnumSet<ParkingSlotType>> rules = new EnumMap<>(VehicleType.class);
+        rules.put(VehicleType.MOTORCYCLE, EnumSet.of(ParkingSlotType.COMPACT, ParkingSlotType.REGULAR, ParkingSlotType.LARGE));
+        rules.put(VehicleType.CAR, EnumSet.of(ParkingSlotType.REGULAR, ParkingSlotType.LARGE));
+        rules.put(VehicleType.BUS, EnumSet.of(ParkingSlotType.LARGE));
+        rules.put(VehicleType.BICYCLE, EnumSet.allOf(ParkingSlotType.class));
+        rules.put(VehicleType.MICROCAR, EnumSet.of(ParkingSlotType.COMPACT, ParkingSlotType.REGULAR));
+        return new CompatibilityMatrix(rules);
+    }
+
+    /**
+     * Reads rules such as {@code BUS=LARGE} or {@code CAR=REGULAR,LARGE}. Vehicle types
+     * missing from the properties keep their default rules; an empty value allows nothing.
+     */
+    public static CompatibilityMatrix fromProperties(Properties properties) {
+        Map<VehicleType, EnumSet<ParkingSlotType>> rules = new EnumMap<>(VehicleType.class);
+        CompatibilityMatrix defaults = defaults();
+        for (VehicleType vehicleType : VehicleType.values()) {
+            String value = properties.getProperty(vehicleType.name());
+            EnumSet<ParkingSlotType> allowed = EnumSet.noneOf(ParkingSlotType.class);
+            if (value == null) {
+                for (ParkingSlotType slotType : defaults.allowedSlotTypes(vehicleType)) {
+                    allowed.add(slotType);
+                }
+            } else {
+                for (String name : value.split(",")) {
+                    if (!name.isBlank()) {
+                        allowed.add(ParkingSlotType.valueOf(name.trim()));
+                    }
+                }
+            }
+            rules.put(vehicleType, allowed);
+        }
+        return new CompatibilityMatrix(rules);
+    }
+
+    public static CompatibilityMatrix getInstance() {
+        CompatibilityMatrix matrix = instance;
+        if (matrix == null) {
+            synchronized (CompatibilityMatrix.class) {
+                matrix = instance;
+                if (matrix == null) {
+                    matrix = load(System.getProperty(CONFIG_PROPERTY));
+                    instance = matrix;
+                }
+            }
+        }
+        return matrix;
+    }
+
+    public static void configure(CompatibilityMatrix matrix) {
+        instance = matrix;
+    }
+
+    static CompatibilityMatrix load(String path) {
+        if (path == null || path.isBlank()) {
+            return defaults();
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(Paths.get(path))) {
+            properties.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read compatibility rules from " + path, e);
+        }
+        return fromProperties(properties);
+    }
+
+    public boolean allows(VehicleType vehicleType, ParkingSlotType slotType) {
+        return (masks[vehicleType.ordinal()] & (1 << slotType.ordinal())) != 0;
+    }
+
+    public ParkingSlotType[] getAllowedSlotTypes(VehicleType vehicleType) {
+        return allowedTypes[vehicleType.ordinal()].clone();
+    }
+
+    ParkingSlotType[] allowedSlotTypes(VehicleType vehicleType) {
+        return allowedTypes[vehicleType.ordinal()];
+    }
+}
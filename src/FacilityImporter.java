@@ -0,0 +1,276 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams slot and vehicle definitions with opening balances from CSV files into a facility.
+ * Files are read through a {@link FileChannel} in large chunks and parsed from the raw bytes;
+ * records are handed to the facility in batches, so the slot inventory indexes each batch
+ * in one go. Blank lines and lines starting with {@code #} are skipped, as is a first line
+ * naming the columns.
+ * <pre>
+ * slotId,slotType[,active[,balance]]
+ * vehicleId,vehicleType,balance
+ * </pre>
+ */
+public final class FacilityImporter {
+    public static final int BATCH_SIZE = 8192;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int MAX_FIELDS = 4;
+
+    private FacilityImporter() {
+    }
+
+    public static int importSlots(ParkingSystem system, Path csv) {
+        List<ParkingSlot> batch = new ArrayList<>(BATCH_SIZE);
+        int count = 0;
+        try (CsvReader reader = new CsvReader(csv, "slotId")) {
+            while (reader.next()) {
+                if (reader.fieldCount() < 2) {
+                    throw reader.error("expected slotId,slotType[,active[,balance]]");
+                }
+                ParkingSlot slot = new ParkingSlot(reader.text(0), reader.enumValue(1, ParkingSlotType.class));
+                if (reader.fieldCount() > 2 && !reader.bool(2)) {
+                    slot.deactivate();
+                }
+                if (reader.fieldCount() > 3) {
+                    slot.getWallet().restore(reader.minorUnits(3));
+                }
+                batch.add(slot);
+                if (batch.size() == BATCH_SIZE) {
+                    count += flushSlots(system, batch);
+                }
+            }
+        }
+        return count + flushSlots(system, batch);
+    }
+
+    public static int importVehicles(ParkingSystem system, Path csv) {
+        List<Vehicle> batch = new ArrayList<>(BATCH_SIZE);
+        int count = 0;
+        try (CsvReader reader = new CsvReader(csv, "vehicleId")) {
+            while (reader.next()) {
+                if (reader.fieldCount() != 3) {
+                    throw reader.error("expected vehicleId,vehicleType,balance");
+                }
+                Wallet wallet = new Wallet();
+                wallet.restore(reader.minorUnits(2));
+                batch.add(new Vehicle(reader.integer(0), reader.enumValue(1, VehicleType.class), wallet));
+                if (batch.size() == BATCH_SIZE) {
+                    count += flushVehicles(system, batch);
+                }
+            }
+        }
+        return count + flushVehicles(system, batch);
+    }
+
+    private static int flushSlots(ParkingSystem system, List<ParkingSlot> batch) {
+        int size = batch.size();
+        system.addParkingSlots(batch);
+        batch.clear();
+        return size;
+    }
+
+    private static int flushVehicles(ParkingSystem system, List<Vehicle> batch) {
+        int size = batch.size();
+        system.addVehicles(batch);
+        batch.clear();
+        return size;
+    }
+
+    private static class CsvReader implements AutoCloseable {
+        private final Path path;
+        private final String header;
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        private final int[] starts = new int[MAX_FIELDS];
+        private final int[] ends = new int[MAX_FIELDS];
+        private int fields;
+        private int lineNumber;
+        private boolean eof;
+
+        CsvReader(Path path, String header) {
+            this.path = path;
+            this.header = header;
+            try {
+                this.channel = FileChannel.open(path, StandardOpenOption.READ);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot open " + path, e);
+            }
+            buffer.limit(0);
+        }
+
+        boolean next() {
+            while (true) {
+                int end = lineEnd();
+                if (end < 0) {
+                    return false;
+                }
+                lineNumber++;
+                int start = buffer.position();
+                buffer.position(Math.min(end + 1, buffer.limit()));
+                if (end > start && buffer.get(end - 1) == '\r') {
+                    end--;
+                }
+                if (end == start || buffer.get(start) == '#') {
+                    continue;
+                }
+                split(start, end);
+                if (lineNumber == 1 && text(0).equalsIgnoreCase(header)) {
+                    continue;
+                }
+                return true;
+            }
+        }
+
+        private int lineEnd() {
+            int from = buffer.position();
+            while (true) {
+                for (int i = from; i < buffer.limit(); i++) {
+                    if (buffer.get(i) == '\n') {
+                        return i;
+                    }
+                }
+                if (eof) {
+                    return buffer.position() < buffer.limit() ? buffer.limit() : -1;
+                }
+                int scanned = buffer.limit() - buffer.position();
+                if (scanned == buffer.capacity()) {
+                    throw error("line is longer than " + BUFFER_SIZE + " bytes");
+                }
+                buffer.compact();
+                try {
+                    eof = channel.read(buffer) < 0;
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Cannot read " + path, e);
+                }
+                buffer.flip();
+                from = scanned;
+            }
+        }
+
+        private void split(int start, int end) {
+            fields = 0;
+            int fieldStart = start;
+            for (int i = start; i <= end; i++) {
+                if (i == end || buffer.get(i) == ',') {
+                    if (fields == MAX_FIELDS) {
+                        throw error("too many fields");
+                    }
+                    starts[fields] = fieldStart;
+                    ends[fields] = i;
+                    fields++;
+                    fieldStart = i + 1;
+                }
+            }
+            for (int f = 0; f < fields; f++) {
+                while (starts[f] < ends[f] && buffer.get(starts[f]) == ' ') {
+                    starts[f]++;
+                }
+                while (ends[f] > starts[f] && buffer.get(ends[f] - 1) == ' ') {
+                    ends[f]--;
+                }
+            }
+        }
+
+        int fieldCount() {
+            return fields;
+        }
+
+        String text(int field) {
+            byte[] bytes = new byte[ends[field] - starts[field]];
+            buffer.get(starts[field], bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        int integer(int field) {
+            long value = digits(field, starts[field], ends[field]);
+            if (value > Integer.MAX_VALUE) {
+                throw error("number out of range in field " + (field + 1));
+            }
+            return (int) value;
+        }
+
+        boolean bool(int field) {
+            String value = text(field);
+            if (value.equalsIgnoreCase("true")) {
+                return true;
+            }
+            if (value.equalsIgnoreCase("false")) {
+                return false;
+            }
+            throw error("expected true or false in field " + (field + 1));
+        }
+
+        <E extends Enum<E>> E enumValue(int field, Class<E> type) {
+            try {
+                return Enum.valueOf(type, text(field).toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw error("unknown " + type.getSimpleName() + " '" + text(field) + "'");
+            }
+        }
+
+        long minorUnits(int field) {
+            int start = starts[field];
+            int end = ends[field];
+            int point = end;
+            for (int i = start; i < end; i++) {
+                if (buffer.get(i) == '.') {
+                    point = i;
+                    break;
+                }
+            }
+            long units = digits(field, start, point) * Wallet.MINOR_UNITS_PER_UNIT;
+            if (point < end) {
+                int decimals = end - point - 1;
+                if (decimals == 0 || decimals > 2) {
+                    throw error("expected at most two decimals in field " + (field + 1));
+                }
+                long fraction = digits(field, point + 1, end);
+                units += decimals == 1 ? fraction * 10 : fraction;
+            }
+            return units;
+        }
+
+        private long digits(int field, int start, int end) {
+            if (start == end) {
+                throw error("expected a number in field " + (field + 1));
+            }
+            long value = 0;
+            for (int i = start; i < end; i++) {
+                int digit = buffer.get(i) - '0';
+                if (digit < 0 || digit > 9 || value > (Long.MAX_VALUE - digit) / 10) {
+                    throw error("expected a number in field " + (field + 1));
+                }
+                value = value * 10 + digit;
+            }
+            return value;
+        }
+
+        ImportException error(String message) {
+            return new ImportException(path, lineNumber, message);
+        }
+
+        @Override
+        public void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot close " + path, e);
+            }
+        }
+    }
+}
+
+class ImportException extends RuntimeException {
+    public ImportException(Path path, int lineNumber, String message) {
+        super(path.getFileName() + ", line " + lineNumber + ": " + message);
+    }
+}
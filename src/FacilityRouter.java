@@ -0,0 +1,63 @@
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Routes requests to one {@link ParkingSystem} per facility. Facilities share no state,
+ * so a search across all sites fans out to every facility in parallel.
+ */
+public class FacilityRouter {
+    private final Map<String, ParkingSystem> facilities = new ConcurrentHashMap<>();
+
+    public ParkingSystem createFacility(String facilityId) {
+        ParkingSystem facility = new ParkingSystem(facilityId);
+        register(facility);
+        return facility;
+    }
+
+    public void register(ParkingSystem facility) {
+        if (facilities.putIfAbsent(facility.getFacilityId(), facility) != null) {
+            throw new IllegalArgumentException("Facility " + facility.getFacilityId() + " is already registered.");
+        }
+    }
+
+    public ParkingSystem remove(String facilityId) {
+        return facilities.remove(facilityId);
+    }
+
+    public ParkingSystem route(String facilityId) {
+        ParkingSystem facility = facilities.get(facilityId);
+        if (facility == null) {
+            throw new UnknownFacilityException(facilityId);
+        }
+        return facility;
+    }
+
+    public Collection<ParkingSystem> getFacilities() {
+        return Collections.unmodifiableCollection(facilities.values());
+    }
+
+    public List<ParkingSlot> getAvailableParkingSlots(String facilityId, Vehicle vehicle, LocalDateTime startTime, LocalDateTime endTime) {
+        return route(facilityId).getAvailableParkingSlots(vehicle, startTime, endTime);
+    }
+
+    public Booking book(String facilityId, Vehicle vehicle, ParkingSlot slot, LocalDateTime startTime, LocalDateTime endTime) {
+        return route(facilityId).book(vehicle, slot, startTime, endTime);
+    }
+
+    public Map<String, List<ParkingSlot>> getAvailableParkingSlotsEverywhere(Vehicle vehicle, LocalDateTime startTime, LocalDateTime endTime) {
+        return facilities.values().parallelStream()
+                .collect(Collectors.toConcurrentMap(ParkingSystem::getFacilityId,
+                        facility -> facility.getAvailableParkingSlots(vehicle, startTime, endTime)));
+    }
+}
+
+class UnknownFacilityException extends RuntimeException {
+    public UnknownFacilityException(String facilityId) {
+        super("No facility registered with ID " + facilityId + ".");
+    }
+}
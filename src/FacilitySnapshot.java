@@ -0,0 +1,228 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Compact binary image of a facility: slots with their active flags, balances and pending
+ * payouts, vehicles, the system wallet and live bookings only. A snapshot is taken without stopping bookings;
+ * it remembers the journal sequence seen before copying began, and recovery replays the
+ * journal from there, which settles anything that changed while the copy was running.
+ */
+public final class FacilitySnapshot {
+    private static final int MAGIC = 0x504B5331;
+    private static final int VERSION = 2;
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".bin";
+
+    private FacilitySnapshot() {
+    }
+
+    public static Path write(ParkingSystem system, Path directory) {
+        BookingJournal journal = system.getJournal();
+        long sequence = journal == null ? 0 : journal.getLastSequence();
+        int lastBookingId = system.getRegistry().getLastId();
+        List<ParkingSlot> slots = new ArrayList<>(system.getParkingSlots());
+        List<Vehicle> vehicles = new ArrayList<>(system.getVehicles());
+        Path target = directory.resolve(String.format("%s%020d%s", PREFIX, sequence, SUFFIX));
+        try {
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, PREFIX, ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeUTF(system.getFacilityId());
+                out.writeLong(sequence);
+                out.writeInt(lastBookingId);
+                out.writeLong(system.getSYSTEM_WALLET().getBalanceMinorUnits());
+
+                Map<ParkingSlot, Integer> slotIndexes = new IdentityHashMap<>();
+                out.writeInt(slots.size());
+                for (ParkingSlot slot : slots) {
+                    slotIndexes.put(slot, slotIndexes.size());
+                    out.writeUTF(slot.getSlotId());
+                    out.writeByte(slot.getSlotType().ordinal());
+                    out.writeBoolean(slot.isActive());
+                    out.writeLong(slot.getWallet().getBalanceMinorUnits());
+                    out.writeLong(slot.getPendingPayoutMinorUnits());
+                }
+
+                out.writeInt(vehicles.size());
+                for (Vehicle vehicle : vehicles) {
+                    writeVehicle(out, vehicle);
+                    out.writeLong(vehicle.getWallet().getBalanceMinorUnits());
+                }
+
+                List<Booking> live = new ArrayList<>();
+                for (ParkingSlot slot : slots) {
+                    live.addAll(slot.getLiveBookings());
+                }
+                out.writeInt(live.size());
+                for (Booking booking : live) {
+                    out.writeInt(booking.getBookingId());
+                    out.writeInt(slotIndexes.get(booking.getParkingSlot()));
+                    writeVehicle(out, booking.getVehicle());
+                    out.writeLong(booking.getStartMinute());
+                    out.writeLong(booking.getEndMinute());
+                    out.writeLong(Wallet.toMinorUnits(booking.getAmount()));
+                    out.writeByte(booking.getBookingStatus().ordinal());
+                }
+            }
+            return Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write snapshot to " + target, e);
+        }
+    }
+
+    public static ParkingSystem load(Path snapshot) {
+        return read(snapshot).system;
+    }
+
+    /**
+     * Loads the newest snapshot in {@code directory} and replays the part of the journal
+     * written after it. The returned facility keeps journaling to {@code journal}.
+     */
+    public static ParkingSystem recover(Path directory, BookingJournal journal) {
+        Path snapshot = latest(directory);
+        if (snapshot == null) {
+            throw new IllegalStateException("No snapshot found in " + directory);
+        }
+        Loaded loaded = read(snapshot);
+        loaded.system.recover(journal, loaded.sequence);
+        return loaded.system;
+    }
+
+    public static Path latest(Path directory) {
+        List<Path> snapshots = list(directory);
+        return snapshots.isEmpty() ? null : snapshots.get(snapshots.size() - 1);
+    }
+
+    public static int prune(Path directory, int retained) {
+        List<Path> snapshots = list(directory);
+        int removed = 0;
+        try {
+            for (int i = 0; i < snapshots.size() - retained; i++) {
+                Files.deleteIfExists(snapshots.get(i));
+                removed++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot prune snapshots in " + directory, e);
+        }
+        return removed;
+    }
+
+    private static List<Path> list(Path directory) {
+        if (!Files.isDirectory(directory)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> snapshots = new ArrayList<>();
+            files.filter(p -> p.getFileName().toString().startsWith(PREFIX) && p.getFileName().toString().endsWith(SUFFIX))
+                    .sorted()
+                    .forEach(snapshots::add);
+            return snapshots;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list snapshots in " + directory, e);
+        }
+    }
+
+    private static Loaded read(Path snapshot) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshot), 1 << 16))) {
+            if (in.readInt() != MAGIC) {
+                throw new IllegalStateException("Not a facility snapshot: " + snapshot);
+            }
+            int version = in.readInt();
+            if (version < 1 || version > VERSION) {
+                throw new IllegalStateException("Not a facility snapshot: " + snapshot);
+            }
+            ParkingSystem system = new ParkingSystem(in.readUTF());
+            long sequence = in.readLong();
+            int lastBookingId = in.readInt();
+            system.getSYSTEM_WALLET().restore(in.readLong());
+
+            ParkingSlotType[] slotTypes = ParkingSlotType.values();
+            List<ParkingSlot> slots = new ArrayList<>();
+            int slotCount = in.readInt();
+            for (int i = 0; i < slotCount; i++) {
+                ParkingSlot slot = new ParkingSlot(in.readUTF(), slotTypes[in.readByte()]);
+                if (!in.readBoolean()) {
+                    slot.deactivate();
+                }
+                slot.getWallet().restore(in.readLong());
+                if (version >= 2) {
+                    slot.restorePendingPayout(in.readLong());
+                }
+                slots.add(slot);
+            }
+            system.setParkingSlots(slots);
+
+            Map<Integer, Vehicle> vehiclesById = new HashMap<>();
+            int vehicleCount = in.readInt();
+            for (int i = 0; i < vehicleCount; i++) {
+                Vehicle vehicle = readVehicle(in, system, vehiclesById);
+                vehicle.getWallet().restore(in.readLong());
+            }
+
+            BookingStatus[] statuses = BookingStatus.values();
+            int bookingCount = in.readInt();
+            for (int i = 0; i < bookingCount; i++) {
+                int bookingId = in.readInt();
+                ParkingSlot slot = slots.get(in.readInt());
+                Vehicle vehicle = readVehicle(in, system, vehiclesById);
+                Booking booking = new Booking(bookingId, vehicle, slot, in.readLong(), in.readLong(),
+                        in.readLong() / (double) Wallet.MINOR_UNITS_PER_UNIT);
+                BookingStatus status = statuses[in.readByte()];
+                if (status == BookingStatus.COMPLETED) {
+                    booking.completeBooking();
+                } else if (status == BookingStatus.CANCELLED) {
+                    booking.cancelBooking();
+                }
+                system.getRegistry().add(booking);
+                slot.getBookings().add(booking);
+            }
+            system.getRegistry().advanceIds(lastBookingId);
+            return new Loaded(system, sequence);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read snapshot " + snapshot, e);
+        }
+    }
+
+    private static void writeVehicle(DataOutputStream out, Vehicle vehicle) throws IOException {
+        out.writeInt(vehicle == null ? 0 : vehicle.getVehicleId());
+        out.writeByte(vehicle == null ? -1 : vehicle.getVehicleType().ordinal());
+    }
+
+    private static Vehicle readVehicle(DataInputStream in, ParkingSystem system, Map<Integer, Vehicle> vehiclesById) throws IOException {
+        int vehicleId = in.readInt();
+        byte type = in.readByte();
+        if (type < 0) {
+            return null;
+        }
+        return vehiclesById.computeIfAbsent(vehicleId, id -> {
+            Vehicle vehicle = new Vehicle(id, VehicleType.values()[type], 0.0);
+            system.addVehicle(vehicle);
+            return vehicle;
+        });
+    }
+
+    private static class Loaded {
+        private final ParkingSystem system;
+        private final long sequence;
+
+        private Loaded(ParkingSystem system, long sequence) {
+            this.system = system;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Conversion between the {@code LocalDateTime}s of the public API and the epoch minutes used
+ * internally. Times are facility wall-clock times read at a fixed offset, so every minute maps
+ * to exactly one value and there are no daylight-saving gaps. Sub-minute parts are rounded
+ * outwards: starts down, ends up.
+ */
+public final class FacilityTime {
+    public static final ZoneOffset OFFSET = ZoneOffset.UTC;
+
+    private FacilityTime() {
+    }
+
+    public static long toMinutes(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(OFFSET), 60L);
+    }
+
+    public static long toMinutesCeil(LocalDateTime time) {
+        long minutes = toMinutes(time);
+        return time.getSecond() == 0 && time.getNano() == 0 ? minutes : minutes + 1;
+    }
+
+    public static LocalDateTime toDateTime(long minutes) {
+        return LocalDateTime.ofEpochSecond(minutes * 60L, 0, OFFSET);
+    }
+}
@@ -0,0 +1,5 @@
+class InsufficientFundsException extends RuntimeException {
+    public InsufficientFundsException() {
+        super("Insufficient funds in wallet.");
+    }
+}
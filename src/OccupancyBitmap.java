@@ -0,0 +1,148 @@
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * One bit per 15-minute bucket over a rolling horizon, kept in a circular {@code long[]}.
+ * A set bit means some booking may touch the bucket, so a window whose bits are all clear
+ * is certainly free; a set bit only says the exact check has to decide.
+ */
+public class OccupancyBitmap {
+    public static final int BUCKET_MINUTES = 15;
+    public static final int DEFAULT_HORIZON_BUCKETS = 14 * 24 * 60 / BUCKET_MINUTES;
+
+    private final long[] words;
+    private final int capacity;
+    private long base;
+    private boolean anchored;
+
+    public OccupancyBitmap() {
+        this(DEFAULT_HORIZON_BUCKETS);
+    }
+
+    public OccupancyBitmap(int horizonBuckets) {
+        if (horizonBuckets <= 0) {
+            throw new IllegalArgumentException("Horizon must hold at least one bucket.");
+        }
+        this.words = new long[(horizonBuckets + 63) >>> 6];
+        this.capacity = words.length << 6;
+    }
+
+    public static long bucketOf(LocalDateTime time) {
+        return bucketOf(FacilityTime.toMinutes(time));
+    }
+
+    public static long bucketAfter(LocalDateTime time) {
+        return bucketAfter(FacilityTime.toMinutesCeil(time));
+    }
+
+    public static long bucketOf(long minute) {
+        return Math.floorDiv(minute, BUCKET_MINUTES);
+    }
+
+    public static long bucketAfter(long minute) {
+        return -Math.floorDiv(-minute, BUCKET_MINUTES);
+    }
+
+    public static long firstMinute(long bucket) {
+        return bucket * BUCKET_MINUTES;
+    }
+
+    public static LocalDateTime startOf(long bucket) {
+        return FacilityTime.toDateTime(firstMinute(bucket));
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public boolean isAnchored() {
+        return anchored;
+    }
+
+    public long getBase() {
+        return base;
+    }
+
+    public long getEnd() {
+        return base + capacity;
+    }
+
+    public void anchor(long bucket) {
+        Arrays.fill(words, 0L);
+        base = bucket;
+        anchored = true;
+    }
+
+    public boolean covers(long from, long to) {
+        return anchored && from >= base && to <= base + capacity;
+    }
+
+    public boolean isClear(long from, long to) {
+        if (!covers(from, to)) {
+            throw new IllegalArgumentException("Buckets [" + from + ", " + to + ") are outside the horizon.");
+        }
+        for (long bucket = from; bucket < to; ) {
+            int position = (int) Math.floorMod(bucket, (long) capacity);
+            int bit = position & 63;
+            int count = (int) Math.min(64 - bit, to - bucket);
+            if ((words[position >>> 6] & mask(bit, count)) != 0) {
+                return false;
+            }
+            bucket += count;
+        }
+        return true;
+    }
+
+    public void mark(long from, long to) {
+        apply(from, to, true);
+    }
+
+    public void clear(long from, long to) {
+        apply(from, to, false);
+    }
+
+    /**
+     * Slides the horizon forward so it starts at {@code newBase}. Buckets that fall off the
+     * front are cleared and reused for the end; the caller re-marks bookings reaching them.
+     */
+    public void advanceTo(long newBase) {
+        if (!anchored || newBase <= base) {
+            return;
+        }
+        if (newBase - base >= capacity) {
+            Arrays.fill(words, 0L);
+        } else {
+            apply(base, newBase, false);
+        }
+        base = newBase;
+    }
+
+    public void reset() {
+        Arrays.fill(words, 0L);
+        base = 0;
+        anchored = false;
+    }
+
+    private void apply(long from, long to, boolean set) {
+        if (!anchored) {
+            return;
+        }
+        from = Math.max(from, base);
+        to = Math.min(to, base + capacity);
+        for (long bucket = from; bucket < to; ) {
+            int position = (int) Math.floorMod(bucket, (long) capacity);
+            int bit = position & 63;
+            int count = (int) Math.min(64 - bit, to - bucket);
+            if (set) {
+                words[position >>> 6] |= mask(bit, count);
+            } else {
+                words[position >>> 6] &= ~mask(bit, count);
+            }
+            bucket += count;
+        }
+    }
+
+    private static long mask(int bit, int count) {
+        return count == 64 ? -1L : ((1L << count) - 1) << bit;
+    }
+}
@@ -0,0 +1,104 @@
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Occupied active slots per slot type and 15-minute bucket of a facility. Each slot keeps the
+ * number of its live bookings per bucket; a type's counter moves only when a bucket of one of
+ * its slots goes from free to taken or back, so several short bookings on one slot count once.
+ * Reading how many slots of a type are taken in a bucket costs one map lookup. Inactive slots
+ * keep their buckets but are not counted. Buckets before the last {@link #prune} are dropped.
+ */
+public class OccupancyCounters {
+    private static final int SLOT_TYPES = ParkingSlotType.values().length;
+
+    private final ConcurrentHashMap<Long, AtomicIntegerArray> byBucket = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<ParkingSlot, Coverage> bySlot = new ConcurrentHashMap<>();
+    private volatile long firstBucket = Long.MIN_VALUE;
+
+    public int getBooked(ParkingSlotType type, long minute) {
+        AtomicIntegerArray counts = byBucket.get(OccupancyBitmap.bucketOf(minute));
+        return counts == null ? 0 : counts.get(type.ordinal());
+    }
+
+    void add(ParkingSlot slot, long startMinute, long endMinute, int delta) {
+        Coverage coverage = bySlot.computeIfAbsent(slot, s -> new Coverage());
+        synchronized (coverage) {
+            long from = Math.max(OccupancyBitmap.bucketOf(startMinute), firstBucket);
+            long to = OccupancyBitmap.bucketAfter(endMinute);
+            for (long bucket = from; bucket < to; bucket++) {
+                int before = coverage.bookings.getOrDefault(bucket, 0);
+                int after = Math.max(0, before + delta);
+                if (after == 0) {
+                    coverage.bookings.remove(bucket);
+                } else {
+                    coverage.bookings.put(bucket, after);
+                }
+                if (coverage.counted && (before == 0) != (after == 0)) {
+                    count(slot.getSlotType(), bucket, after == 0 ? -1 : 1);
+                }
+            }
+        }
+    }
+
+    /** Counts or stops counting the buckets {@code slot} has taken, as it is activated or deactivated. */
+    void setCounted(ParkingSlot slot, boolean counted) {
+        Coverage coverage = bySlot.computeIfAbsent(slot, s -> new Coverage());
+        synchronized (coverage) {
+            if (coverage.counted != counted) {
+                coverage.counted = counted;
+                for (long bucket : coverage.bookings.keySet()) {
+                    count(slot.getSlotType(), bucket, counted ? 1 : -1);
+                }
+            }
+        }
+    }
+
+    void remove(ParkingSlot slot) {
+        Coverage coverage = bySlot.remove(slot);
+        if (coverage != null) {
+            synchronized (coverage) {
+                if (coverage.counted) {
+                    for (long bucket : coverage.bookings.keySet()) {
+                        count(slot.getSlotType(), bucket, -1);
+                    }
+                }
+                coverage.bookings.clear();
+                coverage.counted = false;
+            }
+        }
+    }
+
+    public void prune(long nowMinute) {
+        long bucket = OccupancyBitmap.bucketOf(nowMinute);
+        if (bucket > firstBucket) {
+            firstBucket = bucket;
+            byBucket.keySet().removeIf(b -> b < bucket);
+            for (Coverage coverage : bySlot.values()) {
+                synchronized (coverage) {
+                    coverage.bookings.keySet().removeIf(b -> b < bucket);
+                }
+            }
+        }
+    }
+
+    void clear() {
+        byBucket.clear();
+        bySlot.clear();
+    }
+
+    private void count(ParkingSlotType type, long bucket, int delta) {
+        AtomicIntegerArray counts = delta > 0
+                ? byBucket.computeIfAbsent(bucket, b -> new AtomicIntegerArray(SLOT_TYPES))
+                : byBucket.get(bucket);
+        if (counts != null) {
+            counts.addAndGet(type.ordinal(), delta);
+        }
+    }
+
+    private static final class Coverage {
+        private final Map<Long, Integer> bookings = new HashMap<>();
+        private boolean counted;
+    }
+}
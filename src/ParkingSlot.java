@@ -1,63 +1,62 @@
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class ParkingSlot {
+    private static final AtomicLong REGISTRATIONS = new AtomicLong();
+
     private String slotId;
     private ParkingSlotType slotType;
-    private boolean isActive;
+    private volatile boolean isActive;
     private Wallet wallet;
-    private List<Booking> bookings;
+    private SlotBookings bookings;
+    private CopyOnWriteArrayList<SlotInventory> inventories;
+    private final AtomicLong pendingPayout = new AtomicLong();
+    private volatile long registration;
 
     public ParkingSlot(String slotId, ParkingSlotType slotType) {
+        this(slotId, slotType, AvailabilityEngine.getDefault());
+    }
+
+    public ParkingSlot(String slotId, ParkingSlotType slotType, AvailabilityEngine engine) {
         this.slotId = slotId;
         this.slotType = slotType;
         this.isActive = true;
         this.wallet = new Wallet();
-        this.bookings = new java.util.ArrayList<>();
+        this.bookings = new SlotBookings(engine, this);
+        this.inventories = new CopyOnWriteArrayList<>();
     }
 
     public boolean isCompatible(VehicleType type, LocalDateTime startTime, LocalDateTime endTime) {
+        return isCompatible(type, FacilityTime.toMinutes(startTime), FacilityTime.toMinutesCeil(endTime));
+    }
+
+    public boolean isCompatible(VehicleType type, long startMinute, long endMinute) {
         if (!isActive) {
             return false;
         }
-        switch (type) {
-            case MOTORCYCLE:
-                if (slotType == ParkingSlotType.COMPACT || slotType == ParkingSlotType.REGULAR || slotType == ParkingSlotType.LARGE) {
-                    return isAvailable(startTime, endTime);
-                }
-                break;
-            case CAR:
-                if (slotType == ParkingSlotType.REGULAR || slotType == ParkingSlotType.LARGE) {
-                    return isAvailable(startTime, endTime);
-                }
-                break;
-            case BUS:
-                if (slotType == ParkingSlotType.LARGE) {
-                    return isAvailable(startTime, endTime);
-                }
-                break;
-            case BICYCLE:
-                if (slotType == ParkingSlotType.COMPACT || slotType == ParkingSlotType.REGULAR || slotType == ParkingSlotType.LARGE || slotType == ParkingSlotType.HANDICAPPED) {
-                    return isAvailable(startTime, endTime);
-                }
-                break;
-            case MICROCAR:
-                if (slotType == ParkingSlotType.COMPACT || slotType == ParkingSlotType.REGULAR) {
-                    return isAvailable(startTime, endTime);
-                }
-            default:
-                return false;
-        }
-        return false;
+        return CompatibilityMatrix.getInstance().allows(type, slotType) && isAvailable(startMinute, endMinute);
     }
 
     public boolean isAvailable(LocalDateTime startTime, LocalDateTime endTime) {
-        for (Booking booking : bookings) {
-            if (booking.getEndTime().isAfter(startTime) && booking.getStartTime().isBefore(endTime)) {
-                return false;
-            }
-        }
-        return true;
+        return !bookings.overlaps(startTime, endTime);
+    }
+
+    public boolean isAvailable(long startMinute, long endMinute) {
+        return !bookings.overlaps(startMinute, endMinute);
+    }
+
+    public boolean releaseBooking(Booking booking) {
+        return bookings.release(booking);
+    }
+
+    public int compactHistory(LocalDateTime now) {
+        return bookings.compact(now);
+    }
+
+    public AvailabilityEngine getAvailabilityEngine() {
+        return bookings.getEngine();
     }
 
     public String getSlotId() {
@@ -74,10 +73,46 @@ public class ParkingSlot {
 
     public void activate() {
         this.isActive = true;
+        notifyInventories();
     }
 
     public void deactivate() {
         this.isActive = false;
+        notifyInventories();
+    }
+
+    long getRegistration() {
+        return registration;
+    }
+
+    synchronized void register() {
+        if (registration == 0) {
+            registration = REGISTRATIONS.incrementAndGet();
+        }
+    }
+
+    void attach(SlotInventory inventory) {
+        inventories.addIfAbsent(inventory);
+    }
+
+    void detach(SlotInventory inventory) {
+        inventories.remove(inventory);
+    }
+
+    boolean isAttached(SlotInventory inventory) {
+        return inventories.contains(inventory);
+    }
+
+    void bookingIndexChanged(Booking booking, int delta) {
+        for (SlotInventory inventory : inventories) {
+            inventory.bookingIndexChanged(this, booking, delta);
+        }
+    }
+
+    private void notifyInventories() {
+        for (SlotInventory inventory : inventories) {
+            inventory.slotActivationChanged(this);
+        }
     }
 
     public Wallet getWallet() {
@@ -88,7 +123,27 @@ public class ParkingSlot {
         return bookings;
     }
 
+    public List<Booking> getLiveBookings() {
+        return bookings.liveBookings();
+    }
+
     public double getBalance() {
-        return wallet.getBalance();
+        return (double) (wallet.getBalanceMinorUnits() + pendingPayout.get()) / Wallet.MINOR_UNITS_PER_UNIT;
+    }
+
+    public long getPendingPayoutMinorUnits() {
+        return pendingPayout.get();
+    }
+
+    long accruePayout(long units) {
+        return pendingPayout.addAndGet(units);
+    }
+
+    long takePendingPayout() {
+        return pendingPayout.getAndSet(0);
+    }
+
+    void restorePendingPayout(long units) {
+        pendingPayout.set(units);
     }
 }
\ No newline at end of file
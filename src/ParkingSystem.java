@@ -1,67 +1,521 @@
 import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
 
 public class ParkingSystem {
+    public static final String DEFAULT_FACILITY_ID = "default";
+
+    private final String facilityId;
     private List<Vehicle> vehicles;
-    private List<ParkingSlot> parkingSlots;
-    private List<Booking> bookings;
-    private double PARKING_RATE_PER_HOUR = 10.0;
+    private SlotInventory parkingSlots;
+    private BookingRegistry bookings;
+    private volatile PricingEngine pricing = PricingEngine.defaults();
+    private volatile SurgePolicy surge = SurgePolicy.NONE;
+    private volatile PayoutSettlement settlement;
     private Wallet SYSTEM_WALLET = new Wallet();
+    private final SlotLocks slotLocks = new SlotLocks();
+    private volatile BookingJournal journal;
 
-    private static ParkingSystem instance = null;
+    private static class InstanceHolder {
+        private static final ParkingSystem INSTANCE = new ParkingSystem(DEFAULT_FACILITY_ID);
+    }
 
     public static ParkingSystem getInstance() {
-        if (instance == null) {
-            instance = new ParkingSystem();
-        }
-        return instance;
+        return InstanceHolder.INSTANCE;
     }
 
-    private ParkingSystem() {
+    public ParkingSystem(String facilityId) {
+        if (facilityId == null || facilityId.isBlank()) {
+            throw new IllegalArgumentException("Facility ID must not be blank.");
+        }
+        this.facilityId = facilityId;
         vehicles = new java.util.ArrayList<>();
-        parkingSlots = new java.util.ArrayList<>();
-        bookings = new java.util.ArrayList<>();
+        parkingSlots = new SlotInventory();
+        bookings = new BookingRegistry();
     }
 
     public List<ParkingSlot> getAvailableParkingSlots(Vehicle vehicle, LocalDateTime startTime, LocalDateTime endTime) {
         List<ParkingSlot> availableSlots = new java.util.ArrayList<>();
-        for (ParkingSlot slot : parkingSlots) {
-            if (slot.isCompatible(vehicle.getVehicleType(), startTime, endTime)) {
-                availableSlots.add(slot);
+        long startMinute = FacilityTime.toMinutes(startTime);
+        long endMinute = FacilityTime.toMinutesCeil(endTime);
+        for (ParkingSlotType slotType : CompatibilityMatrix.getInstance().allowedSlotTypes(vehicle.getVehicleType())) {
+            for (ParkingSlot slot : parkingSlots.getActiveSlots(slotType)) {
+                if (slot.isAvailable(startMinute, endMinute)) {
+                    availableSlots.add(slot);
+                }
             }
         }
         return availableSlots;
     }
 
+    /**
+     * Lazy variant of {@link #getAvailableParkingSlots}: each slot is checked only when the
+     * stream reaches it, so {@code findFirst} or {@code limit} stop the scan early. A parallel
+     * stream splits the per-type active slot sets directly.
+     */
+    public java.util.stream.Stream<ParkingSlot> streamAvailableParkingSlots(Vehicle vehicle, LocalDateTime startTime,
+                                                                          LocalDateTime endTime, boolean parallel) {
+        long startMinute = FacilityTime.toMinutes(startTime);
+        long endMinute = FacilityTime.toMinutesCeil(endTime);
+        java.util.stream.Stream<ParkingSlot> slots = java.util.stream.Stream.empty();
+        for (ParkingSlotType slotType : CompatibilityMatrix.getInstance().allowedSlotTypes(vehicle.getVehicleType())) {
+            java.util.stream.Stream<ParkingSlot> ofType = java.util.stream.StreamSupport.stream(
+                    parkingSlots.getActiveSlots(slotType).spliterator(), parallel);
+            slots = java.util.stream.Stream.concat(slots, ofType);
+        }
+        return slots.filter(slot -> slot.isAvailable(startMinute, endMinute));
+    }
+
+    public java.util.Optional<ParkingSlot> findAvailableParkingSlot(Vehicle vehicle, LocalDateTime startTime, LocalDateTime endTime) {
+        return streamAvailableParkingSlots(vehicle, startTime, endTime, false).findFirst();
+    }
+
+    /**
+     * Returns at most {@code limit} free slots for the vehicle, best first under {@code ranking}.
+     * Only the current best {@code limit} slots are held while scanning; type-major rankings
+     * skip whole slot types that cannot improve on them.
+     */
+    public List<ParkingSlot> recommendParkingSlots(Vehicle vehicle, LocalDateTime startTime, LocalDateTime endTime,
+                                                   int limit, SlotRanking ranking) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("At least one slot must be requested.");
+        }
+        long startMinute = FacilityTime.toMinutes(startTime);
+        long endMinute = FacilityTime.toMinutesCeil(endTime);
+        ParkingSlotType[] slotTypes = CompatibilityMatrix.getInstance().getAllowedSlotTypes(vehicle.getVehicleType());
+        if (ranking.isTypeMajor()) {
+            java.util.Arrays.sort(slotTypes, java.util.Comparator.comparingInt(ranking::typeRank));
+        }
+        java.util.PriorityQueue<ParkingSlot> worstFirst = new java.util.PriorityQueue<>(limit, ranking.reversed());
+        for (ParkingSlotType slotType : slotTypes) {
+            if (worstFirst.size() == limit && ranking.isTypeMajor()
+                    && ranking.typeRank(slotType) > ranking.typeRank(worstFirst.peek().getSlotType())) {
+                break;
+            }
+            for (ParkingSlot slot : parkingSlots.getActiveSlots(slotType)) {
+                boolean full = worstFirst.size() == limit;
+                if (full && ranking.compare(slot, worstFirst.peek()) >= 0) {
+                    continue;
+                }
+                if (slot.isAvailable(startMinute, endMinute)) {
+                    if (full) {
+                        worstFirst.poll();
+                    }
+                    worstFirst.add(slot);
+                }
+            }
+        }
+        List<ParkingSlot> recommended = new java.util.ArrayList<>(worstFirst);
+        recommended.sort(ranking);
+        return recommended;
+    }
+
     public Booking book(Vehicle vehicle, ParkingSlot slot, LocalDateTime startTime, LocalDateTime endTime) {
         if (endTime.isBefore(startTime) || endTime.isEqual(startTime)) {
             throw new IllegalBookingTimeException();
         }
+        long startMinute = FacilityTime.toMinutes(startTime);
+        long endMinute = FacilityTime.toMinutesCeil(endTime);
+
+        ReentrantLock lock = slotLocks.lockFor(slot);
+        lock.lock();
+        try {
+            if (!slot.isCompatible(vehicle.getVehicleType(), startMinute, endMinute)) {
+                throw new IllegalArgumentException("Parking slot is not compatible or not available for the given time.");
+            }
 
-        if (!slot.isCompatible(vehicle.getVehicleType(), startTime, endTime)) {
-            throw new IllegalArgumentException("Parking slot is not compatible or not available for the given time.");
+            double amount = price(vehicle, slot, startMinute, endMinute);
+
+            Booking booking = new Booking(bookings.nextId(), vehicle, slot, startMinute, endMinute, amount);
+
+            journaled(() -> {
+                move(booking, vehicle.getWallet(), BookingJournal.PARTY_VEHICLE, SYSTEM_WALLET, BookingJournal.PARTY_SYSTEM, amount);
+                bookings.add(booking);
+                slot.getBookings().add(booking);
+                record(BookingJournal.BOOK, booking);
+            });
+
+            return booking;
+        } finally {
+            lock.unlock();
         }
+    }
 
-        double hours = java.time.Duration.between(startTime, endTime).toHours();
-        double amount = hours * PARKING_RATE_PER_HOUR * getVehicleTypeRate(vehicle.getVehicleType()) * parkingSlotTypeMultiplier(slot.getSlotType());
+    public List<BookingResult> bookAll(List<BookingRequest> requests, boolean allOrNothing) {
+        BookingResult[] results = new BookingResult[requests.size()];
+        Booking[] reserved = new Booking[requests.size()];
+        Map<VehicleType, List<Integer>> pending = new EnumMap<>(VehicleType.class);
+        boolean rejected = false;
+        int remaining = 0;
+        for (int i = 0; i < requests.size(); i++) {
+            BookingRequest request = requests.get(i);
+            if (!request.getEndTime().isAfter(request.getStartTime())) {
+                results[i] = BookingResult.failed(request, new IllegalBookingTimeException());
+                rejected = true;
+            } else {
+                pending.computeIfAbsent(request.getVehicle().getVehicleType(), k -> new java.util.LinkedList<>()).add(i);
+                remaining++;
+            }
+        }
 
-        Booking booking = new Booking(bookings.size() + 1, vehicle, slot, startTime, endTime, amount);
-        bookings.add(booking);
+        // Most constrained first: slot types few requests can use are filled before contended
+        // ones, and on each slot the vehicle types allowed on the fewest slot types go first.
+        CompatibilityMatrix matrix = CompatibilityMatrix.getInstance();
+        int[] demand = new int[ParkingSlotType.values().length];
+        List<VehicleType> vehicleTypes = new java.util.ArrayList<>(pending.keySet());
+        for (VehicleType vehicleType : vehicleTypes) {
+            for (ParkingSlotType slotType : matrix.allowedSlotTypes(vehicleType)) {
+                demand[slotType.ordinal()] += pending.get(vehicleType).size();
+            }
+        }
+        vehicleTypes.sort(java.util.Comparator.comparingInt(vehicleType -> matrix.allowedSlotTypes(vehicleType).length));
+        ParkingSlotType[] slotTypes = ParkingSlotType.values();
+        java.util.Arrays.sort(slotTypes, java.util.Comparator.comparingInt(slotType -> demand[slotType.ordinal()]));
+        for (ParkingSlotType slotType : slotTypes) {
+            List<List<Integer>> queues = new java.util.ArrayList<>();
+            for (VehicleType vehicleType : vehicleTypes) {
+                List<Integer> queue = pending.get(vehicleType);
+                if (!queue.isEmpty() && matrix.allows(vehicleType, slotType)) {
+                    queues.add(queue);
+                }
+            }
+            if (queues.isEmpty()) {
+                continue;
+            }
+            for (ParkingSlot slot : parkingSlots.getActiveSlots(slotType)) {
+                if (remaining == 0) {
+                    break;
+                }
+                remaining -= reserveOnSlot(slot, queues, requests, reserved);
+            }
+        }
+        for (List<Integer> queue : pending.values()) {
+            for (int i : queue) {
+                results[i] = BookingResult.failed(requests.get(i),
+                        new IllegalArgumentException("No compatible parking slot is available for the given time."));
+                rejected = true;
+            }
+        }
+        boolean abort = allOrNothing && rejected;
+        List<Booking> released = new java.util.ArrayList<>();
+        journaled(() -> commitBatch(requests, reserved, results, abort, allOrNothing, released));
+        // Slot locks are taken before the journal's everywhere else, so release only once it is let go.
+        for (Booking booking : released) {
+            unreserve(booking);
+        }
+        return java.util.Arrays.asList(results);
+    }
 
-        vehicle.getWallet().transferFunds(SYSTEM_WALLET, amount);
-        slot.getBookings().add(booking);
+    /**
+     * Charges each wallet of a batch once and registers its bookings, as one journal batch:
+     * a crash cannot keep the charges without the bookings they paid for. Reservations that
+     * are not kept are added to {@code released} for the caller to free.
+     */
+    private void commitBatch(List<BookingRequest> requests, Booking[] reserved, BookingResult[] results,
+            boolean abort, boolean allOrNothing, List<Booking> released) {
+        Map<Wallet, Double> totals = new IdentityHashMap<>();
+        Map<Wallet, Booking> firstBookings = new IdentityHashMap<>();
+        for (Booking booking : reserved) {
+            if (booking != null) {
+                totals.merge(booking.getVehicle().getWallet(), booking.getAmount(), Double::sum);
+                firstBookings.putIfAbsent(booking.getVehicle().getWallet(), booking);
+            }
+        }
+        Map<Wallet, RuntimeException> declined = new IdentityHashMap<>();
+        List<Wallet> charged = new java.util.ArrayList<>();
+        for (Map.Entry<Wallet, Double> total : totals.entrySet()) {
+            if (abort || total.getValue() <= 0) {
+                continue;
+            }
+            try {
+                move(firstBookings.get(total.getKey()), total.getKey(), BookingJournal.PARTY_VEHICLE,
+                        SYSTEM_WALLET, BookingJournal.PARTY_SYSTEM, total.getValue());
+                charged.add(total.getKey());
+            } catch (RuntimeException e) {
+                declined.put(total.getKey(), e);
+            }
+        }
 
-        return booking;
+        if (allOrNothing && !declined.isEmpty()) {
+            abort = true;
+            for (Wallet wallet : charged) {
+                move(firstBookings.get(wallet), SYSTEM_WALLET, BookingJournal.PARTY_SYSTEM,
+                        wallet, BookingJournal.PARTY_VEHICLE, totals.get(wallet));
+            }
+        }
+        for (int i = 0; i < reserved.length; i++) {
+            Booking booking = reserved[i];
+            if (booking == null) {
+                continue;
+            }
+            RuntimeException failure = declined.get(booking.getVehicle().getWallet());
+            if (abort || failure != null) {
+                released.add(booking);
+                results[i] = BookingResult.failed(requests.get(i), failure != null ? failure : new BatchAbortedException());
+            } else {
+                bookings.add(booking);
+                record(BookingJournal.BOOK, booking);
+                results[i] = BookingResult.succeeded(requests.get(i), booking);
+            }
+        }
+    }
+
+    private int reserveOnSlot(ParkingSlot slot, List<List<Integer>> queues, List<BookingRequest> requests, Booking[] reserved) {
+        int count = 0;
+        ReentrantLock lock = slotLocks.lockFor(slot);
+        lock.lock();
+        try {
+            if (!slot.isActive()) {
+                return 0;
+            }
+            for (List<Integer> queue : queues) {
+                java.util.Iterator<Integer> it = queue.iterator();
+                while (it.hasNext()) {
+                    int i = it.next();
+                    BookingRequest request = requests.get(i);
+                    long startMinute = FacilityTime.toMinutes(request.getStartTime());
+                    long endMinute = FacilityTime.toMinutesCeil(request.getEndTime());
+                    if (slot.isAvailable(startMinute, endMinute)) {
+                        double amount = price(request.getVehicle(), slot, startMinute, endMinute);
+                        Booking booking = new Booking(bookings.nextId(), request.getVehicle(), slot, startMinute, endMinute, amount);
+                        slot.getBookings().add(booking);
+                        reserved[i] = booking;
+                        it.remove();
+                        count++;
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return count;
+    }
+
+    private void unreserve(Booking booking) {
+        ReentrantLock lock = slotLocks.lockFor(booking.getParkingSlot());
+        lock.lock();
+        try {
+            booking.getParkingSlot().getBookings().remove(booking);
+        } finally {
+            lock.unlock();
+        }
     }
 
     public void completeBooking(Booking booking) {
-        booking.completeBooking();
-        SYSTEM_WALLET.transferFunds(booking.getParkingSlot().getWallet(), booking.getAmount() * 0.8);
+        ReentrantLock lock = slotLocks.lockFor(booking.getParkingSlot());
+        lock.lock();
+        try {
+            requireActive(booking);
+            booking.completeBooking();
+            booking.getParkingSlot().releaseBooking(booking);
+            journaled(() -> {
+                record(BookingJournal.COMPLETE, booking);
+                PayoutSettlement deferred = settlement;
+                if (deferred != null) {
+                    deferred.accrue(booking.getParkingSlot(), booking.getAmount() * 0.8);
+                } else {
+                    move(booking, SYSTEM_WALLET, BookingJournal.PARTY_SYSTEM,
+                            booking.getParkingSlot().getWallet(), BookingJournal.PARTY_SLOT, booking.getAmount() * 0.8);
+                }
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void completeBooking(int bookingId) {
+        completeBooking(bookings.getBooking(bookingId));
     }
 
     public void cancelBooking(Booking booking) {
-        booking.cancelBooking();
-        SYSTEM_WALLET.transferFunds(booking.getVehicle().getWallet(), booking.getAmount() * 0.9);
+        ReentrantLock lock = slotLocks.lockFor(booking.getParkingSlot());
+        lock.lock();
+        try {
+            requireActive(booking);
+            booking.cancelBooking();
+            booking.getParkingSlot().releaseBooking(booking);
+            journaled(() -> {
+                record(BookingJournal.CANCEL, booking);
+                move(booking, SYSTEM_WALLET, BookingJournal.PARTY_SYSTEM,
+                        booking.getVehicle().getWallet(), BookingJournal.PARTY_VEHICLE, booking.getAmount() * 0.9);
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void cancelBooking(int bookingId) {
+        cancelBooking(bookings.getBooking(bookingId));
+    }
+
+    /** Closed bookings may be views of archived history, so closing them again would only move money twice. */
+    private static void requireActive(Booking booking) {
+        if (booking.getBookingStatus() != BookingStatus.ACTIVE) {
+            throw new IllegalStateException("Booking " + booking.getBookingId() + " is not active.");
+        }
+    }
+
+    public int compactHistory(LocalDateTime now) {
+        int moved = 0;
+        for (ParkingSlot slot : parkingSlots) {
+            moved += slot.compactHistory(now);
+        }
+        parkingSlots.getOccupancyCounters().prune(FacilityTime.toMinutes(now));
+        bookings.archive();
+        return moved;
+    }
+
+    public BookingJournal getJournal() {
+        return journal;
+    }
+
+    public void setJournal(BookingJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Rebuilds bookings, slot indexes and wallet balances from the journal, then keeps
+     * journaling to it. Slots must be added beforehand; vehicles that were not added are
+     * created from the journal with empty wallets before their balances are restored.
+     */
+    public long recover(BookingJournal journal) {
+        return recover(journal, 0);
+    }
+
+    /**
+     * Replays only the records after {@code afterSequence}, on top of state loaded from a
+     * snapshot taken while those records were being written. Such a snapshot may already
+     * contain some of them, so bookings it holds are not added twice and closing a booking
+     * it no longer lists is skipped; transfer records restore absolute balances either way.
+     */
+    long recover(BookingJournal journal, long afterSequence) {
+        Map<String, ParkingSlot> slotsById = new java.util.HashMap<>();
+        for (ParkingSlot slot : parkingSlots) {
+            slotsById.put(slot.getSlotId(), slot);
+        }
+        Map<Integer, Vehicle> vehiclesById = new java.util.HashMap<>();
+        for (Vehicle vehicle : vehicles) {
+            vehiclesById.put(vehicle.getVehicleId(), vehicle);
+        }
+        this.journal = null;
+        boolean tail = afterSequence > 0;
+        long replayed = journal.replay(afterSequence, record -> apply(record, tail, slotsById, vehiclesById));
+        this.journal = journal;
+        return replayed;
+    }
+
+    private void apply(BookingJournal.Record record, boolean tail, Map<String, ParkingSlot> slotsById, Map<Integer, Vehicle> vehiclesById) {
+        switch (record.getType()) {
+            case BookingJournal.BOOK: {
+                if (bookings.findBooking(record.getBookingId()) != null) {
+                    break;
+                }
+                ParkingSlot slot = journaledSlot(record, slotsById);
+                Vehicle vehicle = journaledVehicle(record, vehiclesById);
+                Booking booking = new Booking(record.getBookingId(), vehicle, slot, record.getStartMinute(), record.getEndMinute(),
+                        record.getAmountMinorUnits() / (double) Wallet.MINOR_UNITS_PER_UNIT);
+                bookings.add(booking);
+                slot.getBookings().add(booking);
+                break;
+            }
+            case BookingJournal.COMPLETE:
+            case BookingJournal.CANCEL: {
+                Booking booking = bookings.findBooking(record.getBookingId());
+                if (booking == null && tail) {
+                    break;
+                }
+                if (booking == null) {
+                    throw new IllegalStateException("Journal closes unknown booking " + record.getBookingId() + ".");
+                }
+                if (record.getType() == BookingJournal.COMPLETE) {
+                    booking.completeBooking();
+                } else {
+                    booking.cancelBooking();
+                }
+                booking.getParkingSlot().releaseBooking(booking);
+                break;
+            }
+            case BookingJournal.TRANSFER:
+                journaledWallet(record, record.getFromParty(), slotsById, vehiclesById).restore(record.getFromBalanceMinorUnits());
+                journaledWallet(record, record.getToParty(), slotsById, vehiclesById).restore(record.getToBalanceMinorUnits());
+                break;
+            case BookingJournal.PAYOUT:
+                journaledSlot(record, slotsById).restorePendingPayout(record.getToBalanceMinorUnits());
+                break;
+            default:
+                throw new IllegalStateException("Unknown journal record type " + record.getType() + ".");
+        }
+    }
+
+    private ParkingSlot journaledSlot(BookingJournal.Record record, Map<String, ParkingSlot> slotsById) {
+        ParkingSlot slot = slotsById.get(record.getSlotId());
+        if (slot == null) {
+            throw new IllegalStateException("Journal refers to unknown slot " + record.getSlotId() + ".");
+        }
+        return slot;
+    }
+
+    private Vehicle journaledVehicle(BookingJournal.Record record, Map<Integer, Vehicle> vehiclesById) {
+        return vehiclesById.computeIfAbsent(record.getVehicleId(), id -> {
+            Vehicle vehicle = new Vehicle(id, record.getVehicleType(), 0.0);
+            vehicles.add(vehicle);
+            return vehicle;
+        });
+    }
+
+    private Wallet journaledWallet(BookingJournal.Record record, byte party, Map<String, ParkingSlot> slotsById, Map<Integer, Vehicle> vehiclesById) {
+        switch (party) {
+            case BookingJournal.PARTY_VEHICLE:
+                return journaledVehicle(record, vehiclesById).getWallet();
+            case BookingJournal.PARTY_SLOT:
+                return journaledSlot(record, slotsById).getWallet();
+            default:
+                return SYSTEM_WALLET;
+        }
+    }
+
+    private void journaled(Runnable steps) {
+        BookingJournal current = journal;
+        if (current == null) {
+            steps.run();
+        } else {
+            current.atomically(steps);
+        }
+    }
+
+    private void move(Booking booking, Wallet from, byte fromParty, Wallet to, byte toParty, double amount) {
+        BookingJournal current = journal;
+        if (current == null) {
+            from.transferFunds(to, amount);
+        } else {
+            current.transfer(booking, from, fromParty, to, toParty, amount);
+        }
+    }
+
+    void settlePayout(ParkingSlot slot, long units) {
+        double amount = units / (double) Wallet.MINOR_UNITS_PER_UNIT;
+        journaled(() -> {
+            move(new Booking(0, null, slot, 0L, 0L, amount), SYSTEM_WALLET, BookingJournal.PARTY_SYSTEM,
+                    slot.getWallet(), BookingJournal.PARTY_SLOT, amount);
+            pendingPayoutChanged(slot);
+        });
+    }
+
+    void pendingPayoutChanged(ParkingSlot slot) {
+        BookingJournal current = journal;
+        if (current != null) {
+            current.pendingPayout(slot);
+        }
+    }
+
+    private void record(byte type, Booking booking) {
+        BookingJournal current = journal;
+        if (current != null) {
+            current.appendBooking(type, booking);
+        }
     }
 
     public void addVehicle(Vehicle vehicle) {
@@ -72,34 +526,49 @@ public class ParkingSystem {
         parkingSlots.add(slot);
     }
 
-    private double getVehicleTypeRate(VehicleType type) {
-        switch (type) {
-            case BICYCLE:
-                return 0.2;
-            case MOTORCYCLE:
-                return 0.5;
-            case MICROCAR:
-                return 1.5;
-            case BUS:
-                return 2.0;
-            case TRUCK:
-                return 3.0;
-            default:
-                return 1.0;
-        }
+    public void addVehicles(java.util.Collection<Vehicle> added) {
+        vehicles.addAll(added);
     }
 
-    private double parkingSlotTypeMultiplier(ParkingSlotType type) {
-        switch (type) {
-            case COMPACT:
-                return 0.8;
-            case LARGE:
-                return 1.5;
-            case HANDICAPPED:
-                return 1.2;
-            default:
-                return 1.0;
+    public void addParkingSlots(java.util.Collection<ParkingSlot> added) {
+        parkingSlots.addAll(added);
+    }
+
+    public double quote(Vehicle vehicle, ParkingSlot slot, LocalDateTime startTime, LocalDateTime endTime) {
+        return price(vehicle, slot, FacilityTime.toMinutes(startTime), FacilityTime.toMinutesCeil(endTime));
+    }
+
+    /** Prices for {@code slots}, in order, as {@link #quote} would return them one by one. */
+    public double[] quoteAll(Vehicle vehicle, List<ParkingSlot> slots, LocalDateTime startTime, LocalDateTime endTime) {
+        long startMinute = FacilityTime.toMinutes(startTime);
+        double[] prices = pricing.quoteAll(vehicle.getVehicleType(), slots, startMinute, FacilityTime.toMinutesCeil(endTime));
+        SurgePolicy surge = this.surge;
+        if (surge != SurgePolicy.NONE) {
+            double[] factors = new double[ParkingSlotType.values().length];
+            for (int i = 0; i < prices.length; i++) {
+                ParkingSlotType slotType = slots.get(i).getSlotType();
+                if (factors[slotType.ordinal()] == 0) {
+                    factors[slotType.ordinal()] = surge.factor(parkingSlots.getOccupancy(slotType, startMinute));
+                }
+                prices[i] *= factors[slotType.ordinal()];
+            }
         }
+        return prices;
+    }
+
+    public double getOccupancy(ParkingSlotType slotType, LocalDateTime time) {
+        return parkingSlots.getOccupancy(slotType, FacilityTime.toMinutes(time));
+    }
+
+    private double price(Vehicle vehicle, ParkingSlot slot, long startMinute, long endMinute) {
+        double amount = pricing.quote(vehicle.getVehicleType(), slot.getSlotType(), startMinute, endMinute);
+        SurgePolicy surge = this.surge;
+        return surge == SurgePolicy.NONE ? amount
+                : amount * surge.factor(parkingSlots.getOccupancy(slot.getSlotType(), startMinute));
+    }
+
+    public String getFacilityId() {
+        return facilityId;
     }
 
     public List<Vehicle> getVehicles() {
@@ -115,23 +584,83 @@ public class ParkingSystem {
     }
 
     public void setParkingSlots(List<ParkingSlot> parkingSlots) {
-        this.parkingSlots = parkingSlots;
+        SlotInventory inventory = new SlotInventory(parkingSlots);
+        this.parkingSlots.clear();
+        this.parkingSlots = inventory;
     }
 
     public List<Booking> getBookings() {
         return bookings;
     }
 
+    BookingRegistry getRegistry() {
+        return bookings;
+    }
+
     public void setBookings(List<Booking> bookings) {
-        this.bookings = bookings;
+        List<Booking> replacement = new java.util.ArrayList<>(bookings);
+        this.bookings.clear();
+        this.bookings.addAll(replacement);
+    }
+
+    public Booking getBooking(int bookingId) {
+        return bookings.getBooking(bookingId);
+    }
+
+    public java.util.Collection<Booking> getBookings(Vehicle vehicle) {
+        return bookings.getBookings(vehicle);
+    }
+
+    public java.util.Collection<Booking> getBookings(ParkingSlot slot) {
+        return bookings.getBookings(slot);
     }
 
     public double getPARKING_RATE_PER_HOUR() {
-        return PARKING_RATE_PER_HOUR;
+        return pricing.getBaseRate();
     }
 
     public void setPARKING_RATE_PER_HOUR(double PARKING_RATE_PER_HOUR) {
-        this.PARKING_RATE_PER_HOUR = PARKING_RATE_PER_HOUR;
+        pricing = pricing.withBaseRate(PARKING_RATE_PER_HOUR);
+    }
+
+    public PricingEngine getPricingEngine() {
+        return pricing;
+    }
+
+    public void setPricingEngine(PricingEngine pricing) {
+        this.pricing = pricing;
+    }
+
+    public PayoutSettlement getPayoutSettlement() {
+        return settlement;
+    }
+
+    /**
+     * Defers slot payouts to {@code settlement}, or pays them at once again when it is
+     * {@code null}. Payouts still pending in a replaced settlement are flushed; those already
+     * pending on the slots, such as after recovery, are handed to the new one.
+     */
+    public void setPayoutSettlement(PayoutSettlement settlement) {
+        PayoutSettlement previous = this.settlement;
+        this.settlement = settlement;
+        if (previous != null && previous != settlement) {
+            previous.flush();
+        }
+        if (settlement != null) {
+            for (ParkingSlot slot : parkingSlots) {
+                if (slot.getPendingPayoutMinorUnits() > 0) {
+                    settlement.owe(slot);
+                }
+            }
+        }
+    }
+
+    public SurgePolicy getSurgePolicy() {
+        return surge;
+    }
+
+    public void setSurgePolicy(SurgePolicy surge) {
+        this.surge = surge;
     }
 
     public Wallet getSYSTEM_WALLET() {
@@ -145,6 +674,16 @@ public class ParkingSystem {
     public double getBalance() {
         return SYSTEM_WALLET.getBalance();
     }
+
+    /**
+     * Replaces the system wallet with a {@link ShardedLedger} that takes over its balance.
+     * Call it while no bookings are being placed or settled.
+     */
+    public ShardedLedger useShardedLedger(int shards) {
+        ShardedLedger ledger = new ShardedLedger(shards, SYSTEM_WALLET);
+        SYSTEM_WALLET = ledger;
+        return ledger;
+    }
 }
 
 class IllegalBookingTimeException extends RuntimeException {
@@ -153,6 +692,12 @@ class IllegalBookingTimeException extends RuntimeException {
     }
 }
 
+class BatchAbortedException extends RuntimeException {
+    public BatchAbortedException() {
+        super("Batch booking was rolled back because another request in the batch failed.");
+    }
+}
+
 class IllegalBookingArgumentException extends RuntimeException {
     public IllegalBookingArgumentException() {
         super("Parking slot is not compatible or not available for the given time.");
@@ -0,0 +1,117 @@
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deferred settlement of slot owners' payouts. While installed on a facility, completing a
+ * booking adds the owner's share to the slot's pending payout instead of moving it at once.
+ * A slot's pending payout is moved out of the system wallet in one transfer once it reaches
+ * the threshold, on {@link #flush()} or on a schedule. Until then the system wallet still holds
+ * the money and {@link ParkingSlot#getBalance()} counts it as the slot's. Every change to a
+ * pending payout is journaled and snapshotted, so it survives a restart; a settlement installed
+ * on a recovered facility picks up the payouts still pending there.
+ */
+public class PayoutSettlement implements Closeable {
+    private final ParkingSystem system;
+    private final long thresholdUnits;
+    private final Set<ParkingSlot> owed = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService executor;
+    private volatile RuntimeException lastFailure;
+
+    public PayoutSettlement(ParkingSystem system, double threshold) {
+        if (!(threshold > 0)) {
+            throw new IllegalArgumentException("Settlement threshold must be positive.");
+        }
+        this.system = system;
+        this.thresholdUnits = Double.isInfinite(threshold) ? Long.MAX_VALUE : Wallet.toMinorUnits(threshold);
+        this.executor = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "payouts-" + system.getFacilityId());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void start(Duration period) {
+        executor.scheduleWithFixedDelay(() -> {
+            try {
+                flush();
+                lastFailure = null;
+            } catch (RuntimeException e) {
+                lastFailure = e;
+            }
+        }, period.toMillis(), period.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /** Settles every slot with a pending payout; returns the number of transfers made. */
+    public int flush() {
+        int settled = 0;
+        for (ParkingSlot slot : owed) {
+            if (owed.remove(slot) && settle(slot)) {
+                settled++;
+            }
+        }
+        return settled;
+    }
+
+    public double getPendingPayouts() {
+        long units = 0;
+        for (ParkingSlot slot : owed) {
+            units += slot.getPendingPayoutMinorUnits();
+        }
+        return units / (double) Wallet.MINOR_UNITS_PER_UNIT;
+    }
+
+    public RuntimeException getLastFailure() {
+        return lastFailure;
+    }
+
+    void accrue(ParkingSlot slot, double amount) {
+        long units = Wallet.toMinorUnits(amount);
+        if (units <= 0) {
+            return;
+        }
+        long pending = slot.accruePayout(units);
+        system.pendingPayoutChanged(slot);
+        if (pending >= thresholdUnits) {
+            settle(slot);
+        } else {
+            owed.add(slot);
+        }
+    }
+
+    void owe(ParkingSlot slot) {
+        owed.add(slot);
+    }
+
+    private boolean settle(ParkingSlot slot) {
+        long units = slot.takePendingPayout();
+        if (units <= 0) {
+            return false;
+        }
+        try {
+            system.settlePayout(slot, units);
+        } catch (RuntimeException e) {
+            slot.accruePayout(units);
+            system.pendingPayoutChanged(slot);
+            owed.add(slot);
+            throw e;
+        }
+        return true;
+    }
+
+    /** Stops the schedule and settles whatever is still pending. */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+}
@@ -0,0 +1,247 @@
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+
+/**
+ * Tariff table compiled from a base hourly rate, vehicle type rates, slot type multipliers and
+ * a factor per hour of the week, stored as one hourly rate per (vehicle type, slot type, hour of
+ * week). A quote walks the booked hours against the table without allocating. By default the
+ * duration is truncated to whole hours, as the facility has always billed; with minute
+ * proration every started hour is charged for the minutes actually used.
+ */
+public final class PricingEngine {
+    public static final int HOURS_PER_WEEK = 7 * 24;
+    public static final double DEFAULT_RATE_PER_HOUR = 10.0;
+
+    private static final long MINUTES_PER_WEEK = HOURS_PER_WEEK * 60L;
+    private static final long EPOCH_MINUTE_OF_WEEK = 3 * 24 * 60L;
+    private static final int SLOT_TYPES = ParkingSlotType.values().length;
+
+    private final double baseRate;
+    private final double[] vehicleRates;
+    private final double[] slotMultipliers;
+    private final double[] hourFactors;
+    private final boolean prorateMinutes;
+    private final double[] hourlyRates;
+    private final double[] weeklyRates;
+
+    private PricingEngine(Builder builder) {
+        this.baseRate = builder.baseRate;
+        this.vehicleRates = builder.vehicleRates.clone();
+        this.slotMultipliers = builder.slotMultipliers.clone();
+        this.hourFactors = builder.hourFactors.clone();
+        this.prorateMinutes = builder.prorateMinutes;
+        this.hourlyRates = new double[vehicleRates.length * SLOT_TYPES * HOURS_PER_WEEK];
+        this.weeklyRates = new double[vehicleRates.length * SLOT_TYPES];
+        for (int v = 0; v < vehicleRates.length; v++) {
+            for (int s = 0; s < SLOT_TYPES; s++) {
+                int table = v * SLOT_TYPES + s;
+                double rate = baseRate * vehicleRates[v] * slotMultipliers[s];
+                for (int h = 0; h < HOURS_PER_WEEK; h++) {
+                    hourlyRates[table * HOURS_PER_WEEK + h] = rate * hourFactors[h];
+                    weeklyRates[table] += rate * hourFactors[h];
+                }
+            }
+        }
+    }
+
+    /** Flat tariff with the standard vehicle rates and slot multipliers, billed in whole hours. */
+    public static PricingEngine defaults() {
+        return builder().build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public Builder toBuilder() {
+        Builder builder = new Builder();
+        builder.baseRate = baseRate;
+        System.arraycopy(vehicleRates, 0, builder.vehicleRates, 0, vehicleRates.length);
+        System.arraycopy(slotMultipliers, 0, builder.slotMultipliers, 0, slotMultipliers.length);
+        System.arraycopy(hourFactors, 0, builder.hourFactors, 0, hourFactors.length);
+        builder.prorateMinutes = prorateMinutes;
+        return builder;
+    }
+
+    public PricingEngine withBaseRate(double ratePerHour) {
+        return toBuilder().baseRate(ratePerHour).build();
+    }
+
+    public double quote(VehicleType vehicleType, ParkingSlotType slotType, LocalDateTime startTime, LocalDateTime endTime) {
+        return quote(vehicleType, slotType, FacilityTime.toMinutes(startTime), FacilityTime.toMinutesCeil(endTime));
+    }
+
+    public double quote(VehicleType vehicleType, ParkingSlotType slotType, long startMinute, long endMinute) {
+        long billable = endMinute - startMinute;
+        if (!prorateMinutes) {
+            billable = billable / 60 * 60;
+        }
+        if (billable <= 0) {
+            return 0.0;
+        }
+        int table = vehicleType.ordinal() * SLOT_TYPES + slotType.ordinal();
+        int hours = table * HOURS_PER_WEEK;
+        long weeks = billable / MINUTES_PER_WEEK;
+        double rateMinutes = weeks * weeklyRates[table] * 60;
+        long from = startMinute + weeks * MINUTES_PER_WEEK;
+        long to = startMinute + billable;
+        long minuteOfWeek = Math.floorMod(from + EPOCH_MINUTE_OF_WEEK, MINUTES_PER_WEEK);
+        while (from < to) {
+            long minutes = Math.min(to - from, 60 - minuteOfWeek % 60);
+            rateMinutes += minutes * hourlyRates[hours + (int) (minuteOfWeek / 60)];
+            minuteOfWeek = (minuteOfWeek + minutes) % MINUTES_PER_WEEK;
+            from += minutes;
+        }
+        return rateMinutes / 60;
+    }
+
+    /**
+     * Quotes one window for many slots at once. Slots are grouped by type, so each distinct
+     * slot type is priced once and the price is copied to every slot of that type.
+     */
+    public double[] quoteAll(VehicleType vehicleType, java.util.List<ParkingSlot> slots, long startMinute, long endMinute) {
+        double[] byType = new double[SLOT_TYPES];
+        java.util.Arrays.fill(byType, Double.NaN);
+        double[] prices = new double[slots.size()];
+        for (int i = 0; i < prices.length; i++) {
+            ParkingSlotType slotType = slots.get(i).getSlotType();
+            double price = byType[slotType.ordinal()];
+            if (Double.isNaN(price)) {
+                price = quote(vehicleType, slotType, startMinute, endMinute);
+                byType[slotType.ordinal()] = price;
+            }
+            prices[i] = price;
+        }
+        return prices;
+    }
+
+    public double getBaseRate() {
+        return baseRate;
+    }
+
+    public double getVehicleRate(VehicleType type) {
+        return vehicleRates[type.ordinal()];
+    }
+
+    public double getSlotMultiplier(ParkingSlotType type) {
+        return slotMultipliers[type.ordinal()];
+    }
+
+    public double getHourFactor(DayOfWeek day, int hour) {
+        return hourFactors[hourOfWeek(day, hour)];
+    }
+
+    public boolean isProratingMinutes() {
+        return prorateMinutes;
+    }
+
+    private static int hourOfWeek(DayOfWeek day, int hour) {
+        if (hour < 0 || hour > 23) {
+            throw new IllegalArgumentException("Hour must be between 0 and 23.");
+        }
+        return (day.getValue() - 1) * 24 + hour;
+    }
+
+    static double defaultVehicleRate(VehicleType type) {
+        switch (type) {
+            case BICYCLE:
+                return 0.2;
+            case MOTORCYCLE:
+                return 0.5;
+            case MICROCAR:
+                return 1.5;
+            case BUS:
+                return 2.0;
+            case TRUCK:
+                return 3.0;
+            default:
+                return 1.0;
+        }
+    }
+
+    static double defaultSlotMultiplier(ParkingSlotType type) {
+        switch (type) {
+            case COMPACT:
+                return 0.8;
+            case LARGE:
+                return 1.5;
+            case HANDICAPPED:
+                return 1.2;
+            default:
+                return 1.0;
+        }
+    }
+
+    public static final class Builder {
+        private double baseRate = DEFAULT_RATE_PER_HOUR;
+        private final double[] vehicleRates = new double[VehicleType.values().length];
+        private final double[] slotMultipliers = new double[SLOT_TYPES];
+        private final double[] hourFactors = new double[HOURS_PER_WEEK];
+        private boolean prorateMinutes;
+
+        private Builder() {
+            for (VehicleType type : VehicleType.values()) {
+                vehicleRates[type.ordinal()] = defaultVehicleRate(type);
+            }
+            for (ParkingSlotType type : ParkingSlotType.values()) {
+                slotMultipliers[type.ordinal()] = defaultSlotMultiplier(type);
+            }
+            java.util.Arrays.fill(hourFactors, 1.0);
+        }
+
+        public Builder baseRate(double ratePerHour) {
+            baseRate = checked(ratePerHour);
+            return this;
+        }
+
+        public Builder vehicleRate(VehicleType type, double rate) {
+            vehicleRates[type.ordinal()] = checked(rate);
+            return this;
+        }
+
+        public Builder slotMultiplier(ParkingSlotType type, double multiplier) {
+            slotMultipliers[type.ordinal()] = checked(multiplier);
+            return this;
+        }
+
+        /** Multiplies the rate for hours {@code fromHour} (inclusive) to {@code toHour} (exclusive) of {@code day}. */
+        public Builder hourFactor(DayOfWeek day, int fromHour, int toHour, double factor) {
+            checked(factor);
+            if (toHour <= fromHour || toHour > 24) {
+                throw new IllegalArgumentException("Hour range must be within one day.");
+            }
+            for (int hour = fromHour; hour < toHour; hour++) {
+                hourFactors[hourOfWeek(day, hour)] *= factor;
+            }
+            return this;
+        }
+
+        public Builder weekdayFactor(int fromHour, int toHour, double factor) {
+            for (DayOfWeek day = DayOfWeek.MONDAY; day != DayOfWeek.SATURDAY; day = day.plus(1)) {
+                hourFactor(day, fromHour, toHour, factor);
+            }
+            return this;
+        }
+
+        public Builder weekendFactor(double factor) {
+            hourFactor(DayOfWeek.SATURDAY, 0, 24, factor);
+            return hourFactor(DayOfWeek.SUNDAY, 0, 24, factor);
+        }
+
+        public Builder prorateMinutes(boolean prorate) {
+            prorateMinutes = prorate;
+            return this;
+        }
+
+        public PricingEngine build() {
+            return new PricingEngine(this);
+        }
+
+        private static double checked(double value) {
+            if (!(value >= 0) || Double.isInfinite(value)) {
+                throw new IllegalArgumentException("Rates must be finite and not negative.");
+            }
+            return value;
+        }
+    }
+}
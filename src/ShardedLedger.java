@@ -0,0 +1,169 @@
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Wallet whose balance is split over several shards, for use as a busy facility's system wallet.
+ * Each thread credits and debits the shard picked by its thread ID. A debit that its own shard
+ * cannot cover falls back to a locked sweep that gathers the rest from the other shards, so
+ * the ledger as a whole is never overdrawn. An optional background rebalancer evens the shards
+ * out so that most debits stay local. Shards sit on separate cache lines.
+ */
+public class ShardedLedger extends Wallet implements Closeable {
+    private static final int PADDING = 8;
+
+    private final int shards;
+    private final AtomicLongArray balances;
+    private final ReentrantLock sweepLock = new ReentrantLock();
+    private ScheduledExecutorService rebalancer;
+
+    public ShardedLedger() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public ShardedLedger(int shards) {
+        if (shards <= 0) {
+            throw new IllegalArgumentException("A ledger needs at least one shard.");
+        }
+        this.shards = shards;
+        this.balances = new AtomicLongArray(shards * PADDING);
+    }
+
+    /** Takes over the balance of {@code from}, such as a facility's current system wallet, leaving it empty. */
+    public ShardedLedger(int shards, Wallet from) {
+        this(shards);
+        long units = from.getBalanceMinorUnits();
+        if (units > 0) {
+            from.debit(units);
+            restore(units);
+            rebalance();
+        }
+    }
+
+    public int getShardCount() {
+        return shards;
+    }
+
+    public long getShardBalanceMinorUnits(int shard) {
+        return balances.get(shard * PADDING);
+    }
+
+    /** Sums the shards under the sweep lock, so units a sweep or rebalance is moving are not missed. */
+    @Override
+    public long getBalanceMinorUnits() {
+        sweepLock.lock();
+        try {
+            long total = 0;
+            for (int shard = 0; shard < shards; shard++) {
+                total += balances.get(shard * PADDING);
+            }
+            return total;
+        } finally {
+            sweepLock.unlock();
+        }
+    }
+
+    @Override
+    void credit(long units) {
+        balances.addAndGet(localShard(), units);
+    }
+
+    @Override
+    void debit(long units) {
+        int local = localShard();
+        while (true) {
+            long current = balances.get(local);
+            if (current < units) {
+                break;
+            }
+            if (balances.compareAndSet(local, current, current - units)) {
+                return;
+            }
+        }
+        sweepLock.lock();
+        try {
+            long needed = units;
+            for (int i = 0; i < shards && needed > 0; i++) {
+                needed -= take((local + i * PADDING) % balances.length(), needed);
+            }
+            if (needed > 0) {
+                balances.addAndGet(local, units - needed);
+                throw new InsufficientFundsException();
+            }
+        } finally {
+            sweepLock.unlock();
+        }
+    }
+
+    @Override
+    void restore(long units) {
+        sweepLock.lock();
+        try {
+            for (int shard = 0; shard < shards; shard++) {
+                balances.set(shard * PADDING, 0);
+            }
+            balances.set(0, units);
+        } finally {
+            sweepLock.unlock();
+        }
+    }
+
+    /** Spreads the current balance evenly over all shards. */
+    public void rebalance() {
+        sweepLock.lock();
+        try {
+            long total = 0;
+            for (int shard = 0; shard < shards; shard++) {
+                total += balances.getAndSet(shard * PADDING, 0);
+            }
+            long share = total / shards;
+            for (int shard = 0; shard < shards; shard++) {
+                balances.addAndGet(shard * PADDING, shard == 0 ? share + total % shards : share);
+            }
+        } finally {
+            sweepLock.unlock();
+        }
+    }
+
+    public synchronized void startRebalancer(Duration period) {
+        if (rebalancer == null) {
+            rebalancer = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "ledger-rebalancer");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        rebalancer.scheduleWithFixedDelay(this::rebalance, period.toMillis(), period.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (rebalancer != null) {
+            rebalancer.shutdown();
+            try {
+                rebalancer.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            rebalancer = null;
+        }
+    }
+
+    private long take(int index, long wanted) {
+        while (true) {
+            long current = balances.get(index);
+            long taken = Math.min(current, wanted);
+            if (taken <= 0 || balances.compareAndSet(index, current, current - taken)) {
+                return Math.max(taken, 0);
+            }
+        }
+    }
+
+    private int localShard() {
+        return (int) (Thread.currentThread().getId() % shards) * PADDING;
+    }
+}
@@ -0,0 +1,403 @@
+import java.time.LocalDateTime;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Booking list of a single slot. Active bookings are live: they sit in an interval index
+ * ordered by start time, so overlap queries stay O(log n). Cancelled, completed and past
+ * bookings are moved to a {@link BookingHistory} and no longer block availability.
+ * The list view shows the history first, then the live bookings, each in insertion order.
+ * Reads and writes are guarded by a read/write lock so searches can run while the slot
+ * is being booked. With the {@link AvailabilityEngine#BITMAP} engine an {@link OccupancyBitmap}
+ * answers most queries before the index is consulted.
+ */
+public class SlotBookings extends AbstractList<Booking> {
+    private final List<Booking> live = new ArrayList<>();
+    private final BookingHistory history = new BookingHistory();
+    private final TreeMap<Long, List<Booking>> byStart = new TreeMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final OccupancyBitmap occupancy;
+    private final ParkingSlot owner;
+    private final TreeMap<Long, Integer> lengths = new TreeMap<>();
+    private long overlappingPairs = 0;
+
+    public SlotBookings() {
+        this(AvailabilityEngine.getDefault());
+    }
+
+    public SlotBookings(AvailabilityEngine engine) {
+        this(engine, null);
+    }
+
+    SlotBookings(AvailabilityEngine engine, ParkingSlot owner) {
+        this.occupancy = engine == AvailabilityEngine.BITMAP ? new OccupancyBitmap() : null;
+        this.owner = owner;
+    }
+
+    public AvailabilityEngine getEngine() {
+        return occupancy == null ? AvailabilityEngine.EXACT : AvailabilityEngine.BITMAP;
+    }
+
+    public boolean overlaps(LocalDateTime startTime, LocalDateTime endTime) {
+        return overlaps(FacilityTime.toMinutes(startTime), FacilityTime.toMinutesCeil(endTime));
+    }
+
+    public boolean overlaps(long startMinute, long endMinute) {
+        lock.readLock().lock();
+        try {
+            if (occupancy != null && startMinute < endMinute) {
+                long from = OccupancyBitmap.bucketOf(startMinute);
+                long to = OccupancyBitmap.bucketAfter(endMinute);
+                if (occupancy.covers(from, to) && occupancy.isClear(from, to)) {
+                    return false;
+                }
+            }
+            return overlapsIndexed(startMinute, endMinute);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Bookings placed through {@code ParkingSystem} never overlap, and while that holds the
+     * bookings starting before {@code endMinute} are visited latest first, stopping at the first
+     * that ends by {@code startMinute}. Only while the index holds overlapping bookings, added
+     * directly to the list, are all starts within the longest booking's length visited.
+     */
+    private boolean overlapsIndexed(long startMinute, long endMinute) {
+        if (byStart.isEmpty()) {
+            return false;
+        }
+        if (startMinute >= endMinute) {
+            return overlapsScan(startMinute, endMinute);
+        }
+        if (overlappingPairs == 0) {
+            for (List<Booking> sameStart : byStart.headMap(endMinute, false).descendingMap().values()) {
+                boolean reaches = false;
+                for (Booking booking : sameStart) {
+                    if (booking.getEndMinute() > startMinute) {
+                        reaches = true;
+                        if (booking.getBookingStatus() == BookingStatus.ACTIVE) {
+                            return true;
+                        }
+                    }
+                }
+                if (!reaches) {
+                    return false;
+                }
+            }
+            return false;
+        }
+        for (List<Booking> sameStart : byStart.subMap(startMinute - longestMinutes(), true, endMinute, false).values()) {
+            for (Booking booking : sameStart) {
+                if (booking.getEndMinute() > startMinute && booking.getBookingStatus() == BookingStatus.ACTIVE) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private int countOverlapping(Booking booking) {
+        long startMinute = booking.getStartMinute();
+        long endMinute = booking.getEndMinute();
+        int count = 0;
+        if (overlappingPairs == 0) {
+            for (List<Booking> sameStart : byStart.headMap(endMinute, false).descendingMap().values()) {
+                boolean reaches = false;
+                for (Booking other : sameStart) {
+                    if (other.getEndMinute() > startMinute) {
+                        reaches = true;
+                        count++;
+                    }
+                }
+                if (!reaches) {
+                    break;
+                }
+            }
+            return count;
+        }
+        for (List<Booking> sameStart : byStart.subMap(startMinute - longestMinutes(), true, endMinute, false).values()) {
+            for (Booking other : sameStart) {
+                if (other.getEndMinute() > startMinute) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private long longestMinutes() {
+        return lengths.isEmpty() ? 0 : lengths.lastKey();
+    }
+
+    private boolean overlapsScan(long startMinute, long endMinute) {
+        for (Booking booking : live) {
+            if (booking.getEndMinute() > startMinute && booking.getStartMinute() < endMinute
+                    && booking.getBookingStatus() == BookingStatus.ACTIVE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean release(Booking booking) {
+        lock.writeLock().lock();
+        try {
+            if (!live.remove(booking)) {
+                history.updateStatus(booking);
+                return false;
+            }
+            unindex(booking);
+            history.add(booking);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int compact(LocalDateTime now) {
+        return compact(FacilityTime.toMinutes(now));
+    }
+
+    public int compact(long nowMinute) {
+        lock.writeLock().lock();
+        try {
+            Set<Booking> finished = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (List<Booking> sameStart : byStart.headMap(nowMinute, false).values()) {
+                for (Booking booking : sameStart) {
+                    if (booking.getEndMinute() <= nowMinute || booking.getBookingStatus() != BookingStatus.ACTIVE) {
+                        finished.add(booking);
+                    }
+                }
+            }
+            if (finished.isEmpty()) {
+                rollHorizon(nowMinute);
+                return 0;
+            }
+            List<Booking> moved = new ArrayList<>(finished.size());
+            live.removeIf(booking -> finished.contains(booking) && moved.add(booking));
+            for (Booking booking : moved) {
+                unindex(booking);
+                history.add(booking);
+            }
+            history.trimToSize();
+            rollHorizon(nowMinute);
+            return moved.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Booking> liveBookings() {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(live);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int liveSize() {
+        lock.readLock().lock();
+        try {
+            return live.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int historySize() {
+        lock.readLock().lock();
+        try {
+            return history.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Booking get(int index) {
+        lock.readLock().lock();
+        try {
+            int historySize = history.size();
+            return index < historySize ? history.get(index) : live.get(index - historySize);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return history.size() + live.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void add(int index, Booking booking) {
+        lock.writeLock().lock();
+        try {
+            int historySize = history.size();
+            if (index < 0 || index > historySize + live.size()) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + (historySize + live.size()));
+            }
+            if (booking.getBookingStatus() == BookingStatus.ACTIVE) {
+                live.add(Math.max(0, index - historySize), booking);
+                index(booking);
+            } else {
+                history.add(Math.min(index, historySize), booking);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Booking set(int index, Booking booking) {
+        lock.writeLock().lock();
+        try {
+            Booking previous = removeAt(index);
+            add(index, booking);
+            return previous;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Booking remove(int index) {
+        lock.writeLock().lock();
+        try {
+            return removeAt(index);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        lock.writeLock().lock();
+        try {
+            if (live.remove(o)) {
+                unindex((Booking) o);
+                return true;
+            }
+            int index = history.indexOf(o);
+            if (index < 0) {
+                return false;
+            }
+            history.remove(index);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Booking removeAt(int index) {
+        int historySize = history.size();
+        if (index < historySize) {
+            return history.remove(index);
+        }
+        Booking removed = live.remove(index - historySize);
+        unindex(removed);
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            if (owner != null) {
+                for (Booking booking : live) {
+                    owner.bookingIndexChanged(booking, -1);
+                }
+            }
+            live.clear();
+            history.clear();
+            byStart.clear();
+            lengths.clear();
+            overlappingPairs = 0;
+            if (occupancy != null) {
+                occupancy.reset();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void index(Booking booking) {
+        overlappingPairs += countOverlapping(booking);
+        byStart.computeIfAbsent(booking.getStartMinute(), k -> new ArrayList<>(1)).add(booking);
+        lengths.merge(booking.getEndMinute() - booking.getStartMinute(), 1, Integer::sum);
+        if (owner != null) {
+            owner.bookingIndexChanged(booking, 1);
+        }
+        if (occupancy != null) {
+            if (!occupancy.isAnchored()) {
+                occupancy.anchor(OccupancyBitmap.bucketOf(booking.getStartMinute()));
+            }
+            occupancy.mark(OccupancyBitmap.bucketOf(booking.getStartMinute()), OccupancyBitmap.bucketAfter(booking.getEndMinute()));
+        }
+    }
+
+    private void unindex(Booking booking) {
+        List<Booking> sameStart = byStart.get(booking.getStartMinute());
+        if (sameStart == null) {
+            return;
+        }
+        if (!sameStart.remove(booking)) {
+            return;
+        }
+        if (sameStart.isEmpty()) {
+            byStart.remove(booking.getStartMinute());
+        }
+        lengths.compute(booking.getEndMinute() - booking.getStartMinute(), (minutes, count) -> count == 1 ? null : count - 1);
+        if (overlappingPairs > 0) {
+            overlappingPairs -= countOverlapping(booking);
+        }
+        if (owner != null) {
+            owner.bookingIndexChanged(booking, -1);
+        }
+        if (occupancy != null) {
+            long from = OccupancyBitmap.bucketOf(booking.getStartMinute());
+            long to = OccupancyBitmap.bucketAfter(booking.getEndMinute());
+            occupancy.clear(from, to);
+            remark(from, to);
+        }
+    }
+
+    private void rollHorizon(long nowMinute) {
+        if (occupancy == null || !occupancy.isAnchored()) {
+            return;
+        }
+        long newBase = OccupancyBitmap.bucketOf(nowMinute);
+        if (newBase <= occupancy.getBase()) {
+            return;
+        }
+        long previousEnd = occupancy.getEnd();
+        occupancy.advanceTo(newBase);
+        remark(Math.max(previousEnd, newBase), occupancy.getEnd());
+    }
+
+    private void remark(long from, long to) {
+        long windowStart = OccupancyBitmap.firstMinute(from);
+        long windowEnd = OccupancyBitmap.firstMinute(to);
+        for (List<Booking> sameStart : byStart.subMap(windowStart - longestMinutes(), true, windowEnd, false).values()) {
+            for (Booking booking : sameStart) {
+                if (booking.getEndMinute() > windowStart) {
+                    occupancy.mark(OccupancyBitmap.bucketOf(booking.getStartMinute()), OccupancyBitmap.bucketAfter(booking.getEndMinute()));
+                }
+            }
+        }
+    }
+}
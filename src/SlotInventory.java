@@ -0,0 +1,162 @@
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Set;
+import java.util.Comparator;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Slot list of a parking system, partitioned by slot type. Active slots of each type are
+ * tracked separately so a search only visits slots that are switched on and can fit the vehicle.
+ * The active sets are concurrent, so searches never block on slots being added or toggled,
+ * and list slots in the order they were first registered.
+ * Active slot counts and {@link OccupancyCounters} per type are kept up to date as slots are
+ * toggled and booked, so occupancy is read without scanning.
+ */
+public class SlotInventory extends AbstractList<ParkingSlot> {
+    private final List<ParkingSlot> slots = new ArrayList<>();
+    private final EnumMap<ParkingSlotType, Set<ParkingSlot>> activeByType = new EnumMap<>(ParkingSlotType.class);
+    private final AtomicIntegerArray activeCounts = new AtomicIntegerArray(ParkingSlotType.values().length);
+    private final OccupancyCounters occupancy = new OccupancyCounters();
+
+    public SlotInventory() {
+        for (ParkingSlotType type : ParkingSlotType.values()) {
+            activeByType.put(type, new ConcurrentSkipListSet<>(Comparator.comparingLong(ParkingSlot::getRegistration)));
+        }
+    }
+
+    public SlotInventory(Collection<ParkingSlot> slots) {
+        this();
+        addAll(slots);
+    }
+
+    public Collection<ParkingSlot> getActiveSlots(ParkingSlotType type) {
+        return java.util.Collections.unmodifiableSet(activeByType.get(type));
+    }
+
+    public int countActive(ParkingSlotType type) {
+        return activeCounts.get(type.ordinal());
+    }
+
+    public OccupancyCounters getOccupancyCounters() {
+        return occupancy;
+    }
+
+    /** Share of the active slots of {@code type} booked in the 15 minutes holding {@code minute}, at most 1. */
+    public double getOccupancy(ParkingSlotType type, long minute) {
+        int booked = occupancy.getBooked(type, minute);
+        int active = countActive(type);
+        if (booked == 0) {
+            return 0.0;
+        }
+        return active <= booked ? 1.0 : booked / (double) active;
+    }
+
+    /**
+     * Reads the slot's flag under the inventory lock, so concurrent toggles, adds and removes
+     * leave it in the partition that matches its last state. Late calls for removed slots are ignored.
+     */
+    synchronized void slotActivationChanged(ParkingSlot slot) {
+        if (!slot.isAttached(this)) {
+            return;
+        }
+        if (slot.isActive()) {
+            activate(slot);
+        } else {
+            deactivate(slot);
+        }
+    }
+
+    void bookingIndexChanged(ParkingSlot slot, Booking booking, int delta) {
+        occupancy.add(slot, booking.getStartMinute(), booking.getEndMinute(), delta);
+    }
+
+    private void activate(ParkingSlot slot) {
+        if (activeByType.get(slot.getSlotType()).add(slot)) {
+            activeCounts.incrementAndGet(slot.getSlotType().ordinal());
+            occupancy.setCounted(slot, true);
+        }
+    }
+
+    private void deactivate(ParkingSlot slot) {
+        if (activeByType.get(slot.getSlotType()).remove(slot)) {
+            activeCounts.decrementAndGet(slot.getSlotType().ordinal());
+            occupancy.setCounted(slot, false);
+        }
+    }
+
+    @Override
+    public synchronized ParkingSlot get(int index) {
+        return slots.get(index);
+    }
+
+    @Override
+    public synchronized int size() {
+        return slots.size();
+    }
+
+    @Override
+    public synchronized void add(int index, ParkingSlot slot) {
+        slots.add(index, slot);
+        index(slot);
+    }
+
+    @Override
+    public synchronized boolean addAll(Collection<? extends ParkingSlot> added) {
+        if (slots.addAll(added)) {
+            for (ParkingSlot slot : added) {
+                index(slot);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public synchronized ParkingSlot set(int index, ParkingSlot slot) {
+        ParkingSlot previous = slots.set(index, slot);
+        unindex(previous);
+        index(slot);
+        return previous;
+    }
+
+    @Override
+    public synchronized ParkingSlot remove(int index) {
+        ParkingSlot removed = slots.remove(index);
+        unindex(removed);
+        return removed;
+    }
+
+    @Override
+    public synchronized void clear() {
+        for (ParkingSlot slot : slots) {
+            slot.detach(this);
+        }
+        slots.clear();
+        for (Set<ParkingSlot> active : activeByType.values()) {
+            active.clear();
+        }
+        for (int i = 0; i < activeCounts.length(); i++) {
+            activeCounts.set(i, 0);
+        }
+        occupancy.clear();
+    }
+
+    private void index(ParkingSlot slot) {
+        slot.register();
+        slot.attach(this);
+        slotActivationChanged(slot);
+        for (Booking booking : slot.getLiveBookings()) {
+            bookingIndexChanged(slot, booking, 1);
+        }
+    }
+
+    private void unindex(ParkingSlot slot) {
+        slot.detach(this);
+        deactivate(slot);
+        occupancy.remove(slot);
+    }
+}
@@ -0,0 +1,41 @@
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed pool of locks shared by all slots. Each slot always maps to the same stripe, so
+ * bookings on one slot are serialized while bookings on other slots proceed in parallel.
+ */
+public class SlotLocks {
+    public static final int DEFAULT_STRIPES = 256;
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    public SlotLocks() {
+        this(DEFAULT_STRIPES);
+    }
+
+    public SlotLocks(int stripes) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("Stripe count must be positive.");
+        }
+        int size = 1;
+        while (size < stripes) {
+            size <<= 1;
+        }
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    public ReentrantLock lockFor(ParkingSlot slot) {
+        int h = System.identityHashCode(slot);
+        h ^= (h >>> 16);
+        return stripes[h & mask];
+    }
+
+    public int getStripeCount() {
+        return stripes.length;
+    }
+}
@@ -0,0 +1,70 @@
+import java.util.Comparator;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Best-first ordering for slot recommendations. Rankings that order slots by type before
+ * anything else report a rank per type, so a search can visit the best types first and stop
+ * once no remaining type can beat the slots it already holds.
+ */
+public final class SlotRanking implements Comparator<ParkingSlot> {
+    private static final Comparator<ParkingSlot> BY_ID = Comparator.comparing(ParkingSlot::getSlotId);
+
+    private final int[] typeRanks;
+    private final Comparator<ParkingSlot> withinType;
+
+    private SlotRanking(int[] typeRanks, Comparator<ParkingSlot> withinType) {
+        this.typeRanks = typeRanks;
+        this.withinType = withinType;
+    }
+
+    /** Lowest standard slot type multiplier first, then by slot ID. */
+    public static SlotRanking cheapest() {
+        return cheapest(PricingEngine.defaults());
+    }
+
+    /** Lowest slot type multiplier under {@code pricing} first, then by slot ID. */
+    public static SlotRanking cheapest(PricingEngine pricing) {
+        int[] ranks = new int[ParkingSlotType.values().length];
+        for (ParkingSlotType type : ParkingSlotType.values()) {
+            for (ParkingSlotType other : ParkingSlotType.values()) {
+                if (pricing.getSlotMultiplier(other) < pricing.getSlotMultiplier(type)) {
+                    ranks[type.ordinal()]++;
+                }
+            }
+        }
+        return new SlotRanking(ranks, BY_ID);
+    }
+
+    /** Smallest slot type the vehicle fits, keeping handicapped slots for last, then by slot ID. */
+    public static SlotRanking smallestFit() {
+        int[] ranks = new int[ParkingSlotType.values().length];
+        ranks[ParkingSlotType.COMPACT.ordinal()] = 0;
+        ranks[ParkingSlotType.REGULAR.ordinal()] = 1;
+        ranks[ParkingSlotType.LARGE.ordinal()] = 2;
+        ranks[ParkingSlotType.HANDICAPPED.ordinal()] = 3;
+        return new SlotRanking(ranks, BY_ID);
+    }
+
+    /** Shortest distance first, for example walking distance to an entrance. */
+    public static SlotRanking nearest(ToDoubleFunction<ParkingSlot> distance) {
+        return by(Comparator.comparingDouble(distance).thenComparing(BY_ID));
+    }
+
+    public static SlotRanking by(Comparator<ParkingSlot> comparator) {
+        return new SlotRanking(null, comparator);
+    }
+
+    public boolean isTypeMajor() {
+        return typeRanks != null;
+    }
+
+    public int typeRank(ParkingSlotType type) {
+        return typeRanks == null ? 0 : typeRanks[type.ordinal()];
+    }
+
+    @Override
+    public int compare(ParkingSlot a, ParkingSlot b) {
+        int byType = Integer.compare(typeRank(a.getSlotType()), typeRank(b.getSlotType()));
+        return byType != 0 ? byType : withinType.compare(a, b);
+    }
+}
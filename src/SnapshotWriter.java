@@ -0,0 +1,74 @@
+import java.io.Closeable;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes {@link FacilitySnapshot}s of one facility on a background thread, either on demand
+ * or periodically, and keeps only the newest few. Bookings carry on while a snapshot is written.
+ */
+public class SnapshotWriter implements Closeable {
+    public static final int DEFAULT_RETAINED = 2;
+
+    private final ParkingSystem system;
+    private final Path directory;
+    private final int retained;
+    private final ScheduledExecutorService executor;
+    private volatile RuntimeException lastFailure;
+
+    public SnapshotWriter(ParkingSystem system, Path directory) {
+        this(system, directory, DEFAULT_RETAINED);
+    }
+
+    public SnapshotWriter(ParkingSystem system, Path directory, int retained) {
+        if (retained <= 0) {
+            throw new IllegalArgumentException("At least one snapshot must be retained.");
+        }
+        this.system = system;
+        this.directory = directory;
+        this.retained = retained;
+        this.executor = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "snapshot-" + system.getFacilityId());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void start(Duration period) {
+        executor.scheduleWithFixedDelay(() -> {
+            try {
+                write();
+                lastFailure = null;
+            } catch (RuntimeException e) {
+                lastFailure = e;
+            }
+        }, period.toMillis(), period.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public CompletableFuture<Path> snapshotNow() {
+        return CompletableFuture.supplyAsync(this::write, executor);
+    }
+
+    public RuntimeException getLastFailure() {
+        return lastFailure;
+    }
+
+    private Path write() {
+        Path snapshot = FacilitySnapshot.write(system, directory);
+        FacilitySnapshot.prune(directory, retained);
+        return snapshot;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+/**
+ * Price factor for a slot type depending on how full that type is at the start of a booking,
+ * from 0 (empty) to 1 (full). The linear policy charges nothing extra up to a threshold and
+ * then rises evenly to its maximum factor when every slot is taken.
+ */
+public final class SurgePolicy {
+    public static final SurgePolicy NONE = new SurgePolicy(1.0, 1.0);
+
+    private final double threshold;
+    private final double maxFactor;
+
+    private SurgePolicy(double threshold, double maxFactor) {
+        this.threshold = threshold;
+        this.maxFactor = maxFactor;
+    }
+
+    public static SurgePolicy linear(double threshold, double maxFactor) {
+        if (!(threshold >= 0 && threshold < 1)) {
+            throw new IllegalArgumentException("Threshold must be at least 0 and below 1.");
+        }
+        if (!(maxFactor >= 1) || Double.isInfinite(maxFactor)) {
+            throw new IllegalArgumentException("Maximum factor must be finite and at least 1.");
+        }
+        return new SurgePolicy(threshold, maxFactor);
+    }
+
+    public double factor(double occupancy) {
+        if (occupancy <= threshold) {
+            return 1.0;
+        }
+        return 1.0 + (maxFactor - 1.0) * (Math.min(occupancy, 1.0) - threshold) / (1.0 - threshold);
+    }
+}
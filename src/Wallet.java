@@ -1,21 +1,39 @@
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Balance held as a fixed-point number of minor units (cents). Debits are lock-free
+ * compare-and-set operations on {@code balance}; credits go to a {@link LongAdder} so that
+ * heavily shared wallets, such as the system wallet, do not contend on a single counter.
+ * Credits never decrease, so a debit that sees enough funds can never overdraw the wallet.
+ */
 public class Wallet {
-    private double balance;
+    static final long MINOR_UNITS_PER_UNIT = 100;
+
+    private final AtomicLong balance;
+    private final LongAdder credits;
 
     public Wallet() {
-        this.balance = 0.0;
+        this.balance = new AtomicLong();
+        this.credits = new LongAdder();
     }
 
     public Wallet(double balance) {
-        this.balance = balance;
+        this.balance = new AtomicLong(toMinorUnits(balance));
+        this.credits = new LongAdder();
     }
 
     public double getBalance() {
-        return balance;
+        return (double) getBalanceMinorUnits() / MINOR_UNITS_PER_UNIT;
+    }
+
+    public long getBalanceMinorUnits() {
+        return balance.get() + credits.sum();
     }
 
     public void addFunds(double amount) {
         if(amount > 0) {
-            balance += amount;
+            credit(toMinorUnits(amount));
         } else {
             throw new InvalidAmountException();
         }
@@ -23,11 +41,7 @@ public class Wallet {
 
     public void deductFunds(double amount) {
         if(amount > 0) {
-            if(balance >= amount) {
-                balance -= amount;
-            } else {
-                throw new InsufficientFundsException();
-            }
+            debit(toMinorUnits(amount));
         } else {
             throw new InvalidAmountException();
         }
@@ -35,21 +49,37 @@ public class Wallet {
 
     public void transferFunds(Wallet toWallet, double amount) {
         if(amount > 0) {
-            if(balance >= amount) {
-                this.deductFunds(amount);
-                toWallet.addFunds(amount);
-            } else {
-                throw new InsufficientFundsException();
-            }
+            long units = toMinorUnits(amount);
+            this.debit(units);
+            toWallet.credit(units);
         } else {
             throw new InvalidAmountException();
         }
     }
-}
 
-class InsufficientFundsException extends RuntimeException {
-    public InsufficientFundsException() {
-        super("Insufficient funds in wallet.");
+    void credit(long units) {
+        credits.add(units);
+    }
+
+    void debit(long units) {
+        while (true) {
+            long current = balance.get();
+            if (current + credits.sum() < units) {
+                throw new InsufficientFundsException();
+            }
+            if (balance.compareAndSet(current, current - units)) {
+                return;
+            }
+        }
+    }
+
+    void restore(long units) {
+        credits.reset();
+        balance.set(units);
+    }
+
+    static long toMinorUnits(double amount) {
+        return Math.round(amount * MINOR_UNITS_PER_UNIT);
     }
 }
 
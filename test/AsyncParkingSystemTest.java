@@ -0,0 +1,125 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+class AsyncParkingSystemTest {
+    private ParkingSystem system;
+    private AsyncParkingSystem async;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+
+    @BeforeEach
+    void setUp() {
+        system = new ParkingSystem("async");
+        for (int i = 0; i < 200; i++) {
+            system.addParkingSlot(new ParkingSlot("REG" + i, ParkingSlotType.REGULAR));
+        }
+        async = new AsyncParkingSystem(system, 500);
+        startTime = LocalDateTime.of(2023, 10, 15, 10, 0);
+        endTime = LocalDateTime.of(2023, 10, 15, 12, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        async.close();
+    }
+
+    @Test
+    void testConcurrentBookings() throws Exception {
+        List<CompletableFuture<Booking>> futures = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Vehicle car = new Vehicle(i, VehicleType.CAR, 100.0);
+            futures.add(async.book(car, system.getParkingSlots().get(i), startTime, endTime));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+
+        Set<Integer> ids = new HashSet<>();
+        for (CompletableFuture<Booking> future : futures) {
+            assertTrue(ids.add(future.get().getBookingId()), "Every booking should get its own ID");
+        }
+        assertEquals(200 * 20.0, system.getBalance(), 0.01, "Every payment should reach the system wallet");
+        assertEquals(0, async.getInFlight(), "Permits should be returned");
+    }
+
+    @Test
+    void testSettlementAndFailures() throws Exception {
+        Vehicle car = new Vehicle(1, VehicleType.CAR, 100.0);
+        Booking booking = async.book(car, system.getParkingSlots().get(0), startTime, endTime).get();
+
+        assertEquals(BookingStatus.CANCELLED, async.cancelBooking(booking.getBookingId()).get().getBookingStatus(),
+            "Cancellation should complete with the cancelled booking");
+        ExecutionException failure = assertThrows(ExecutionException.class,
+            () -> async.book(new Vehicle(2, VehicleType.BUS, 100.0), system.getParkingSlots().get(0), startTime, endTime).get(),
+            "Failed bookings should complete exceptionally");
+        assertTrue(failure.getCause() instanceof IllegalArgumentException, "The original exception should be kept");
+    }
+
+    @Test
+    void testAdmissionControl() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Wallet slowWallet = new Wallet(100.0) {
+            @Override
+            public void transferFunds(Wallet toWallet, double amount) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.transferFunds(toWallet, amount);
+            }
+        };
+        try (AsyncParkingSystem limited = new AsyncParkingSystem(system, 1)) {
+            CompletableFuture<Booking> slow = limited.book(new Vehicle(1, VehicleType.CAR, slowWallet),
+                system.getParkingSlots().get(0), startTime, endTime);
+            assertTrue(started.await(10, TimeUnit.SECONDS), "First call should be running");
+
+            CompletableFuture<Booking> rejected = limited.book(new Vehicle(2, VehicleType.CAR, 100.0),
+                system.getParkingSlots().get(1), startTime, endTime);
+            ExecutionException failure = assertThrows(ExecutionException.class, rejected::get, "Calls over the limit should be rejected");
+            assertTrue(failure.getCause() instanceof AdmissionRejectedException, "Rejection should be reported as such");
+
+            release.countDown();
+            assertNotNull(slow.get(10, TimeUnit.SECONDS), "Admitted call should finish");
+            assertNotNull(limited.book(new Vehicle(3, VehicleType.CAR, 100.0), system.getParkingSlots().get(2), startTime, endTime)
+                .get(10, TimeUnit.SECONDS), "Calls should be admitted again once a permit is free");
+        }
+    }
+
+    @Test
+    void testRejectsEmptyLimit() {
+        assertThrows(IllegalArgumentException.class, () -> new AsyncParkingSystem(system, 0), "Limit must be positive");
+    }
+
+    @Test
+    void testPlatformThreadFallbackIsBounded() throws Exception {
+        org.junit.jupiter.api.Assumptions.assumeFalse(AsyncParkingSystem.VIRTUAL_THREADS, "Only applies without virtual threads");
+        assertEquals(256, AsyncParkingSystem.DEFAULT_MAX_IN_FLIGHT, "Pooled threads should default to a lower limit");
+
+        Set<Thread> threads = java.util.concurrent.ConcurrentHashMap.newKeySet();
+        List<CompletableFuture<Booking>> futures = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Wallet wallet = new Wallet(100.0) {
+                @Override
+                public void transferFunds(Wallet toWallet, double amount) {
+                    threads.add(Thread.currentThread());
+                    super.transferFunds(toWallet, amount);
+                }
+            };
+            futures.add(async.book(new Vehicle(i, VehicleType.CAR, wallet), system.getParkingSlots().get(i), startTime, endTime));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+        assertTrue(threads.size() <= AsyncParkingSystem.POOL_THREADS, "Calls should share a fixed pool, not a thread each");
+    }
+}
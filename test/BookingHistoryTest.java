@@ -0,0 +1,73 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.time.LocalDateTime;
+
+class BookingHistoryTest {
+    private BookingHistory history;
+    private Vehicle vehicle;
+    private ParkingSlot slot;
+    private LocalDateTime startTime;
+
+    @BeforeEach
+    void setUp() {
+        history = new BookingHistory();
+        vehicle = new Vehicle(1, VehicleType.CAR, 100.0);
+        slot = new ParkingSlot("SLOT001", ParkingSlotType.REGULAR);
+        startTime = LocalDateTime.of(2023, 10, 15, 10, 0);
+    }
+
+    private Booking booking(int id) {
+        return new Booking(id, vehicle, slot, startTime.plusHours(id), startTime.plusHours(id + 1), 10.0);
+    }
+
+    @Test
+    void testAddAndGet() {
+        for (int i = 0; i < 10; i++) {
+            history.add(booking(i));
+        }
+
+        assertEquals(10, history.size(), "History should grow past its initial capacity");
+        assertEquals(7, history.get(7).getBookingId(), "Entries should keep insertion order");
+    }
+
+    @Test
+    void testInsertAndRemove() {
+        history.add(booking(1));
+        history.add(booking(3));
+        history.add(1, booking(2));
+
+        assertEquals(2, history.get(1).getBookingId(), "Inserted entry should be placed at the index");
+        assertEquals(2, history.remove(1).getBookingId(), "Removed entry should be returned");
+        assertEquals(3, history.get(1).getBookingId(), "Later entries should shift down");
+    }
+
+    @Test
+    void testOutOfBounds() {
+        history.add(booking(1));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> history.get(1), "Reading past the end should fail");
+        assertThrows(IndexOutOfBoundsException.class, () -> history.add(5, booking(2)), "Inserting past the end should fail");
+    }
+
+    @Test
+    void testClearAndTrim() {
+        history.add(booking(1));
+        history.trimToSize();
+        assertEquals(1, history.size(), "Trimming should keep entries");
+
+        history.clear();
+        assertEquals(0, history.size(), "Clear should drop all entries");
+    }
+
+    @Test
+    void testUpdateStatus() {
+        Booking booking = booking(1);
+        history.add(booking);
+        booking.completeBooking();
+
+        assertTrue(history.updateStatus(booking), "Stored booking should be found");
+        assertEquals(BookingStatus.COMPLETED, history.get(0).getBookingStatus(), "Stored status should follow the booking");
+        assertFalse(history.updateStatus(booking(2)), "Unknown bookings should not be updated");
+    }
+}
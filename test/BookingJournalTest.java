@@ -0,0 +1,253 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+class BookingJournalTest {
+    @TempDir
+    Path dir;
+
+    private Path file;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+
+    @BeforeEach
+    void setUp() {
+        file = dir.resolve("bookings.journal");
+        startTime = LocalDateTime.of(2023, 10, 15, 10, 0);
+        endTime = LocalDateTime.of(2023, 10, 15, 12, 0);
+    }
+
+    private ParkingSystem facility() {
+        ParkingSystem system = new ParkingSystem("journal");
+        system.addParkingSlot(new ParkingSlot("REG001", ParkingSlotType.REGULAR));
+        system.addParkingSlot(new ParkingSlot("LAR001", ParkingSlotType.LARGE));
+        return system;
+    }
+
+    private ParkingSlot slot(ParkingSystem system, String slotId) {
+        for (ParkingSlot slot : system.getParkingSlots()) {
+            if (slot.getSlotId().equals(slotId)) {
+                return slot;
+            }
+        }
+        throw new AssertionError("No slot " + slotId);
+    }
+
+    @Test
+    void testRecordsSurviveReopen() {
+        ParkingSlot slot = new ParkingSlot("REG001", ParkingSlotType.REGULAR);
+        Vehicle car = new Vehicle(7, VehicleType.CAR, 100.0);
+        Booking booking = new Booking(1, car, slot, startTime, endTime, 20.0);
+        try (BookingJournal journal = BookingJournal.open(file)) {
+            journal.appendBooking(BookingJournal.BOOK, booking);
+            journal.transfer(booking, car.getWallet(), BookingJournal.PARTY_VEHICLE, new Wallet(), BookingJournal.PARTY_SYSTEM, 20.0);
+            journal.appendBooking(BookingJournal.CANCEL, booking);
+        }
+
+        try (BookingJournal journal = BookingJournal.open(file)) {
+            assertEquals(3, journal.getLastSequence(), "Reopened journal should find every record");
+            List<String> seen = new ArrayList<>();
+            journal.replay(0, record -> seen.add(record.getType() + ":" + record.getBookingId() + ":" + record.getSlotId()));
+            assertEquals(List.of("1:1:REG001", "4:1:REG001", "3:1:REG001"), seen, "Records should replay in order");
+
+            long[] balances = new long[2];
+            journal.replay(1, record -> {
+                if (record.getType() == BookingJournal.TRANSFER) {
+                    balances[0] = record.getFromBalanceMinorUnits();
+                    balances[1] = record.getToBalanceMinorUnits();
+                    assertEquals(VehicleType.CAR, record.getVehicleType(), "Vehicle type should be kept");
+                    assertEquals(FacilityTime.toMinutes(startTime), record.getStartMinute(), "Window should be kept");
+                }
+            });
+            assertArrayEquals(new long[] {8000, 2000}, balances, "Transfer should record balances after the move");
+            assertEquals(1, journal.replay(2, record -> { }), "Replay should skip records up to the given sequence");
+
+            journal.appendBooking(BookingJournal.COMPLETE, booking);
+            assertEquals(4, journal.getLastSequence(), "Appends should continue after the existing records");
+        }
+    }
+
+    @Test
+    void testRejectsForeignFile() throws Exception {
+        Files.write(file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12});
+        assertThrows(IllegalStateException.class, () -> BookingJournal.open(file), "Files without the journal header should be rejected");
+    }
+
+    @Test
+    void testRejectsLongSlotIds() {
+        ParkingSlot slot = new ParkingSlot("S".repeat(BookingJournal.MAX_SLOT_ID_BYTES + 1), ParkingSlotType.REGULAR);
+        try (BookingJournal journal = BookingJournal.open(file)) {
+            Booking booking = new Booking(1, null, slot, startTime, endTime, 0.0);
+            assertThrows(IllegalArgumentException.class, () -> journal.appendBooking(BookingJournal.BOOK, booking),
+                "Slot IDs that do not fit a record should be rejected");
+            assertEquals(0, journal.getLastSequence(), "Rejected records should not be committed");
+        }
+    }
+
+    @Test
+    void testRecoverRebuildsFacility() {
+        ParkingSystem before = facility();
+        Vehicle car = new Vehicle(1, VehicleType.CAR, 1000.0);
+        Vehicle bus = new Vehicle(2, VehicleType.BUS, 1000.0);
+        before.addVehicle(car);
+        try (BookingJournal journal = BookingJournal.open(file)) {
+            before.setJournal(journal);
+            Booking kept = before.book(car, slot(before, "REG001"), startTime, endTime);
+            Booking cancelled = before.book(bus, slot(before, "LAR001"), startTime, endTime);
+            Booking completed = before.book(car, slot(before, "REG001"), endTime, endTime.plusHours(1));
+            before.cancelBooking(cancelled);
+            before.completeBooking(completed.getBookingId());
+            assertEquals(kept.getBookingId() + 2, completed.getBookingId(), "IDs should be sequential");
+        }
+
+        ParkingSystem after = facility();
+        Vehicle restoredCar = new Vehicle(1, VehicleType.CAR, 0.0);
+        after.addVehicle(restoredCar);
+        try (BookingJournal journal = BookingJournal.open(file)) {
+            assertEquals(10, after.recover(journal), "Every record should be replayed");
+            assertSame(journal, after.getJournal(), "Recovered system should keep journaling");
+            Booking next = after.book(restoredCar, slot(after, "LAR001"), startTime, endTime);
+            assertEquals(4, next.getBookingId(), "IDs should continue after the replayed bookings");
+            assertEquals(12, journal.getLastSequence(), "New bookings should be journaled after recovery");
+        }
+
+        assertEquals(4, after.getBookings().size(), "All bookings should be restored");
+        assertEquals(car.getBalance() - 30.0, restoredCar.getBalance(), 0.001, "Registered vehicle balance should be restored");
+        assertEquals(before.getBalance() + 30.0, after.getBalance(), 0.001, "System balance should be restored");
+        assertEquals(slot(before, "REG001").getBalance(), slot(after, "REG001").getBalance(), 0.001, "Slot payout should be restored");
+        Vehicle restoredBus = after.getVehicles().stream().filter(v -> v.getVehicleId() == 2).findFirst().orElseThrow();
+        assertEquals(VehicleType.BUS, restoredBus.getVehicleType(), "Unknown vehicles should be recreated");
+        assertEquals(bus.getBalance(), restoredBus.getBalance(), 0.001, "Recreated vehicle balance should be restored");
+        assertFalse(slot(after, "REG001").isAvailable(startTime, endTime), "Live booking should block its slot again");
+        assertEquals(BookingStatus.COMPLETED, after.getBooking(3).getBookingStatus(), "Completion should be restored");
+    }
+
+    @Test
+    void testBatchSurvivesCrashWholeOrNotAtAll() throws Exception {
+        ParkingSlot slot = new ParkingSlot("REG001", ParkingSlotType.REGULAR);
+        Vehicle car = new Vehicle(7, VehicleType.CAR, 100.0);
+        Booking first = new Booking(1, car, slot, startTime, endTime, 20.0);
+        Booking second = new Booking(2, car, slot, endTime, endTime.plusHours(1), 10.0);
+        try (BookingJournal journal = BookingJournal.open(file)) {
+            journal.appendBooking(BookingJournal.BOOK, first);
+            journal.atomically(() -> {
+                journal.transfer(second, car.getWallet(), BookingJournal.PARTY_VEHICLE, new Wallet(), BookingJournal.PARTY_SYSTEM, 10.0);
+                journal.appendBooking(BookingJournal.BOOK, second);
+                assertEquals(1, journal.replay(0, record -> { }), "Records of an open batch should not be replayed");
+            });
+            assertEquals(3, journal.replay(0, record -> { }), "A finished batch should be replayed whole");
+        }
+
+        // Simulate a crash before the batch's first record was committed.
+        try (java.nio.channels.FileChannel channel = java.nio.channels.FileChannel.open(file, java.nio.file.StandardOpenOption.WRITE)) {
+            channel.write(java.nio.ByteBuffer.wrap(new byte[] {0}), 2L * BookingJournal.RECORD_SIZE);
+        }
+
+        try (BookingJournal journal = BookingJournal.open(file)) {
+            assertEquals(1, journal.getLastSequence(), "A torn batch should be dropped whole");
+            journal.appendBooking(BookingJournal.CANCEL, first);
+        }
+        try (BookingJournal journal = BookingJournal.open(file)) {
+            List<Integer> types = new ArrayList<>();
+            journal.replay(0, record -> types.add((int) record.getType()));
+            assertEquals(List.of(1, 3), types, "Later appends should not bring the torn batch back");
+        }
+    }
+
+    @Test
+    void testFailedChargeJournalsNothing() {
+        ParkingSystem system = facility();
+        Vehicle poorCar = new Vehicle(1, VehicleType.CAR, 1.0);
+        system.addVehicle(poorCar);
+        try (BookingJournal journal = BookingJournal.open(file)) {
+            system.setJournal(journal);
+            assertThrows(InsufficientFundsException.class, () -> system.book(poorCar, slot(system, "REG001"), startTime, endTime),
+                "Booking without funds should fail");
+            assertEquals(0, journal.getLastSequence(), "Neither the booking nor a charge should be journaled");
+
+            List<BookingResult> results = system.bookAll(List.of(
+                new BookingRequest(new Vehicle(2, VehicleType.CAR, 1000.0), startTime, endTime),
+                new BookingRequest(poorCar, startTime, endTime)), true);
+            assertFalse(results.get(0).isSuccess(), "The batch should be rolled back");
+            journal.replay(0, record -> assertEquals(BookingJournal.TRANSFER, record.getType(), "A rolled back batch journals only its money moves"));
+        }
+    }
+
+    @Test
+    void testAbortedBatchesDoNotDeadlockWithBookings() throws Exception {
+        ParkingSystem system = facility();
+        Vehicle rich = new Vehicle(1, VehicleType.CAR, 1_000_000.0);
+        Vehicle poor = new Vehicle(2, VehicleType.CAR, 1.0);
+        Vehicle single = new Vehicle(3, VehicleType.CAR, 1_000_000.0);
+        // Not try-with-resources: closing waits for the journal lock, which a deadlocked thread keeps.
+        BookingJournal journal = BookingJournal.open(file);
+        system.setJournal(journal);
+        Thread batches = new Thread(() -> {
+            for (int i = 0; i < 500; i++) {
+                LocalDateTime start = startTime.plusHours(i);
+                system.bookAll(List.of(new BookingRequest(rich, start, start.plusHours(1)),
+                    new BookingRequest(poor, start, start.plusHours(1))), true);
+            }
+        });
+        Thread singles = new Thread(() -> {
+            for (int i = 0; i < 500; i++) {
+                LocalDateTime start = startTime.plusHours(i);
+                try {
+                    system.book(single, slot(system, i % 2 == 0 ? "REG001" : "LAR001"), start, start.plusHours(1));
+                } catch (IllegalArgumentException e) {
+                    // the batch held the slot at that moment
+                }
+            }
+        });
+        batches.setDaemon(true);
+        singles.setDaemon(true);
+        batches.start();
+        singles.start();
+        batches.join(30_000);
+        singles.join(30_000);
+        assertFalse(batches.isAlive() || singles.isAlive(), "Aborting batches and single bookings should not deadlock");
+        system.setJournal(null);
+        journal.close();
+    }
+
+    @Test
+    void testTornBatchWithGapsIsDroppedWhole() throws Exception {
+        ParkingSlot slot = new ParkingSlot("REG001", ParkingSlotType.REGULAR);
+        Vehicle car = new Vehicle(7, VehicleType.CAR, 100.0);
+        Booking first = new Booking(1, car, slot, startTime, endTime, 20.0);
+        Booking second = new Booking(2, car, slot, endTime, endTime.plusHours(1), 10.0);
+        Booking third = new Booking(3, car, slot, endTime.plusHours(1), endTime.plusHours(2), 10.0);
+        try (BookingJournal journal = BookingJournal.open(file)) {
+            journal.appendBooking(BookingJournal.BOOK, first);
+            journal.atomically(() -> {
+                journal.transfer(second, car.getWallet(), BookingJournal.PARTY_VEHICLE, new Wallet(), BookingJournal.PARTY_SYSTEM, 10.0);
+                journal.appendBooking(BookingJournal.BOOK, second);
+                journal.transfer(third, car.getWallet(), BookingJournal.PARTY_VEHICLE, new Wallet(), BookingJournal.PARTY_SYSTEM, 10.0);
+                journal.appendBooking(BookingJournal.BOOK, third);
+            });
+        }
+
+        // Simulate a crash after only the batch's last two records were committed.
+        try (java.nio.channels.FileChannel channel = java.nio.channels.FileChannel.open(file, java.nio.file.StandardOpenOption.WRITE)) {
+            channel.write(java.nio.ByteBuffer.wrap(new byte[] {0}), 2L * BookingJournal.RECORD_SIZE);
+            channel.write(java.nio.ByteBuffer.wrap(new byte[] {0}), 3L * BookingJournal.RECORD_SIZE);
+        }
+
+        try (BookingJournal journal = BookingJournal.open(file)) {
+            assertEquals(1, journal.getLastSequence(), "A torn batch should be dropped whole");
+            journal.appendBooking(BookingJournal.CANCEL, first);
+            journal.appendBooking(BookingJournal.BOOK, second);
+        }
+        try (BookingJournal journal = BookingJournal.open(file)) {
+            List<Integer> types = new ArrayList<>();
+            journal.replay(0, record -> types.add((int) record.getType()));
+            assertEquals(List.of(1, 3, 1), types, "Records committed past a gap should not come back");
+        }
+    }
+}
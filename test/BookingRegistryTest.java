@@ -0,0 +1,135 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+class BookingRegistryTest {
+    private BookingRegistry registry;
+    private Vehicle car;
+    private ParkingSlot slot;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+
+    @BeforeEach
+    void setUp() {
+        registry = new BookingRegistry();
+        car = new Vehicle(1, VehicleType.CAR, 100.0);
+        slot = new ParkingSlot("REG001", ParkingSlotType.REGULAR);
+        startTime = LocalDateTime.of(2023, 10, 15, 10, 0);
+        endTime = LocalDateTime.of(2023, 10, 15, 12, 0);
+    }
+
+    @Test
+    void testLookupById() {
+        Booking booking = new Booking(registry.nextId(), car, slot, startTime, endTime, 20.0);
+        registry.add(booking);
+
+        assertSame(booking, registry.getBooking(booking.getBookingId()), "Booking should be found by its ID");
+        assertNull(registry.findBooking(999), "Unknown IDs should not be found");
+        assertThrows(BookingNotFoundException.class, () -> registry.getBooking(999), "Unknown IDs should throw");
+    }
+
+    @Test
+    void testSecondaryIndexes() {
+        Booking booking = new Booking(registry.nextId(), car, slot, startTime, endTime, 20.0);
+        registry.add(booking);
+
+        assertTrue(registry.getBookings(car).contains(booking), "Booking should be indexed by vehicle");
+        assertTrue(registry.getBookings(slot).contains(booking), "Booking should be indexed by slot");
+
+        registry.remove(booking);
+        assertTrue(registry.getBookings(car).isEmpty(), "Removed booking should leave the vehicle index");
+        assertTrue(registry.getBookings(slot).isEmpty(), "Removed booking should leave the slot index");
+    }
+
+    @Test
+    void testIdsAreNotReusedAfterClear() {
+        int first = registry.nextId();
+        registry.add(new Booking(first, car, slot, startTime, endTime, 20.0));
+        registry.clear();
+
+        assertTrue(registry.nextId() > first, "IDs should keep increasing after the list is cleared");
+    }
+
+    @Test
+    void testAddingExternalBookingAdvancesIds() {
+        registry.add(new Booking(41, car, slot, startTime, endTime, 20.0));
+
+        assertEquals(42, registry.nextId(), "Generator should skip past IDs added from outside");
+    }
+
+    @Test
+    void testConcurrentIdsAreUnique() throws Exception {
+        Set<Integer> ids = ConcurrentHashMap.newKeySet();
+        Thread[] workers = new Thread[8];
+        for (int t = 0; t < workers.length; t++) {
+            workers[t] = new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    ids.add(registry.nextId());
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals(8000, ids.size(), "Concurrently generated IDs should all be distinct");
+    }
+
+    @Test
+    void testArchiveKeepsClosedBookingsReachable() {
+        Booking closed = new Booking(registry.nextId(), car, slot, startTime, endTime, 20.0);
+        Booking open = new Booking(registry.nextId(), car, slot, endTime, endTime.plusHours(1), 10.0);
+        registry.add(closed);
+        registry.add(open);
+        closed.completeBooking();
+
+        assertEquals(1, registry.archive(), "Only the closed booking should be archived");
+        assertEquals(1, registry.archivedSize(), "Archive should hold the closed booking");
+        assertEquals(2, registry.size(), "Archived bookings should stay listed");
+        assertEquals(closed, registry.get(0), "Archived bookings should be listed first");
+        assertEquals(BookingStatus.COMPLETED, registry.getBooking(closed.getBookingId()).getBookingStatus(),
+            "Archived booking should still be found by ID");
+        assertSame(open, registry.getBooking(open.getBookingId()), "Active booking should be returned as is");
+        assertEquals(2, registry.getBookings(car).size(), "Vehicle lookup should include archived bookings");
+        assertTrue(registry.getBookings(slot).contains(closed), "Slot lookup should include archived bookings");
+
+        registry.remove(0);
+        assertNull(registry.findBooking(closed.getBookingId()), "Removed archived booking should be gone");
+    }
+
+    @Test
+    void testArchivedLookupsDoNotWaitForTheListMonitor() throws Exception {
+        Booking closed = new Booking(registry.nextId(), car, slot, startTime, endTime, 20.0);
+        registry.add(closed);
+        closed.cancelBooking();
+        registry.archive();
+
+        java.util.concurrent.CountDownLatch held = new java.util.concurrent.CountDownLatch(1);
+        java.util.concurrent.CountDownLatch release = new java.util.concurrent.CountDownLatch(1);
+        Thread holder = new Thread(() -> {
+            synchronized (registry) {
+                held.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        holder.start();
+        held.await();
+        try {
+            java.util.concurrent.CompletableFuture<Booking> lookup =
+                java.util.concurrent.CompletableFuture.supplyAsync(() -> registry.findBooking(closed.getBookingId()));
+            assertEquals(closed, lookup.get(5, java.util.concurrent.TimeUnit.SECONDS), "Archived lookup should not block on the monitor");
+            assertEquals(1, registry.getBookings(car).size(), "Vehicle lookup should not block either");
+        } finally {
+            release.countDown();
+            holder.join();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+class BookingSequencerTest {
+    private ParkingSystem system;
+    private BookingSequencer sequencer;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+
+    @BeforeEach
+    void setUp() {
+        system = new ParkingSystem("sequenced");
+        for (int i = 0; i < 400; i++) {
+            system.addParkingSlot(new ParkingSlot("REG" + i, ParkingSlotType.REGULAR));
+        }
+        sequencer = new BookingSequencer(system, 16);
+        startTime = LocalDateTime.of(2023, 10, 15, 10, 0);
+        endTime = LocalDateTime.of(2023, 10, 15, 12, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sequencer.close();
+    }
+
+    @Test
+    void testConcurrentPublishersWrapTheRing() throws Exception {
+        List<CompletableFuture<Booking>> futures = new ArrayList<>();
+        List<Thread> publishers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int offset = t * 100;
+            Thread publisher = new Thread(() -> {
+                for (int i = offset; i < offset + 100; i++) {
+                    Vehicle car = new Vehicle(i, VehicleType.CAR, 100.0);
+                    CompletableFuture<Booking> future = sequencer.book(car, system.getParkingSlots().get(i), startTime, endTime);
+                    synchronized (futures) {
+                        futures.add(future);
+                    }
+                }
+            });
+            publishers.add(publisher);
+            publisher.start();
+        }
+        for (Thread publisher : publishers) {
+            publisher.join();
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+
+        Set<Integer> ids = new HashSet<>();
+        for (CompletableFuture<Booking> future : futures) {
+            assertTrue(ids.add(future.get().getBookingId()), "Every booking should get its own ID");
+        }
+        assertEquals(400, ids.size(), "Every command should be applied despite the small ring");
+        assertEquals(400 * 20.0, system.getBalance(), 0.01, "Every payment should reach the system wallet");
+        assertEquals(400, sequencer.getApplied(), "Applied count should match published commands");
+    }
+
+    @Test
+    void testCommandsApplyInPublishOrder() throws Exception {
+        ParkingSlot slot = system.getParkingSlots().get(0);
+        Vehicle first = new Vehicle(1, VehicleType.CAR, 100.0);
+        Vehicle second = new Vehicle(2, VehicleType.CAR, 100.0);
+        CompletableFuture<Booking> winner = sequencer.book(first, slot, startTime, endTime);
+        CompletableFuture<Booking> loser = sequencer.book(second, slot, startTime, endTime);
+
+        assertSame(first, winner.get().getVehicle(), "The first command published should take the slot");
+        ExecutionException e = assertThrows(ExecutionException.class, loser::get, "The later overlapping booking should fail");
+        assertTrue(e.getCause() instanceof RuntimeException, "The booking failure should be passed through");
+
+        Booking booking = winner.get();
+        assertEquals(BookingStatus.COMPLETED, sequencer.completeBooking(booking).get().getBookingStatus(),
+            "Completion should resolve with the completed booking");
+        assertEquals(16.0, slot.getWallet().getBalance(), 0.01, "The slot should be paid on completion");
+
+        Booking other = sequencer.book(second, slot, startTime, endTime).get();
+        assertEquals(BookingStatus.CANCELLED, sequencer.cancelBooking(other).get().getBookingStatus(),
+            "Cancellation should resolve with the cancelled booking");
+        assertEquals(98.0, second.getWallet().getBalance(), 0.01, "The vehicle should be refunded on cancellation");
+    }
+
+    @Test
+    void testCloseDrainsAndRejects() throws Exception {
+        List<CompletableFuture<Booking>> futures = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Vehicle car = new Vehicle(i, VehicleType.CAR, 100.0);
+            futures.add(sequencer.book(car, system.getParkingSlots().get(i), startTime, endTime));
+        }
+        sequencer.close();
+        for (CompletableFuture<Booking> future : futures) {
+            assertTrue(future.isDone(), "Published commands should be applied before close returns");
+        }
+
+        CompletableFuture<Booking> late = sequencer.book(new Vehicle(99, VehicleType.CAR, 100.0),
+            system.getParkingSlots().get(99), startTime, endTime);
+        ExecutionException e = assertThrows(ExecutionException.class, late::get, "Commands after close should fail");
+        assertTrue(e.getCause() instanceof IllegalStateException, "Closed sequencer should report its state");
+    }
+
+    @Test
+    void testCapacityMustBePowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new BookingSequencer(system, 10),
+            "Ring capacity should be a power of two");
+    }
+
+    @Test
+    void testIdleWriterParksWithoutTimeout() throws Exception {
+        Thread writer = Thread.getAllStackTraces().keySet().stream()
+            .filter(thread -> thread.getName().equals("booking-sequencer-sequenced")).findFirst().orElseThrow();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        // Nothing is published, so the writer spins briefly and then parks; wait on its own state.
+        while (writer.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(Thread.State.WAITING, writer.getState(), "Idle writer should park until woken, not poll");
+
+        Vehicle car = new Vehicle(1, VehicleType.CAR, 1000.0);
+        assertNotNull(sequencer.book(car, system.getParkingSlots().get(0), startTime, endTime).get(10, TimeUnit.SECONDS),
+            "Publishing should wake the parked writer");
+    }
+}
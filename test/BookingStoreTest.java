@@ -0,0 +1,116 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.time.LocalDateTime;
+import java.util.List;
+
+class BookingStoreTest {
+    private BookingStore store;
+    private Vehicle car;
+    private Vehicle bike;
+    private ParkingSlot slot;
+    private LocalDateTime startTime;
+
+    @BeforeEach
+    void setUp() {
+        store = new BookingStore();
+        car = new Vehicle(1, VehicleType.CAR, 100.0);
+        bike = new Vehicle(2, VehicleType.BICYCLE, 100.0);
+        slot = new ParkingSlot("SLOT001", ParkingSlotType.REGULAR);
+        startTime = LocalDateTime.of(2023, 10, 15, 10, 0);
+    }
+
+    @Test
+    void testViewMatchesStoredBooking() {
+        Booking booking = new Booking(7, car, slot, startTime, startTime.plusHours(2), 12.34);
+        booking.cancelBooking();
+        store.add(booking);
+
+        Booking view = store.get(0);
+        assertNotSame(booking, view, "Reads should build a new view");
+        assertEquals(booking, view, "View should equal the stored booking");
+        assertSame(car, view.getVehicle(), "View should reference the original vehicle");
+        assertSame(slot, view.getParkingSlot(), "View should reference the original slot");
+        assertEquals(startTime.plusHours(2), view.getEndTime(), "End time should be kept");
+        assertEquals(12.34, view.getAmount(), 0.001, "Amount should be kept to the cent");
+        assertEquals(1234, store.getAmountMinorUnits(0), "Amount should be stored in cents");
+        assertEquals(BookingStatus.CANCELLED, view.getBookingStatus(), "Status should be kept");
+    }
+
+    @Test
+    void testColumnsShiftOnInsertAndRemove() {
+        for (int i = 0; i < 10; i++) {
+            store.add(new Booking(i, i % 2 == 0 ? car : bike, slot, startTime.plusHours(i), startTime.plusHours(i + 1), i));
+        }
+        store.add(3, new Booking(100, null, null, startTime, startTime.plusHours(1), 0.0));
+
+        assertEquals(11, store.size(), "Store should grow past its initial capacity");
+        assertEquals(100, store.getBookingId(3), "Inserted row should be placed at the index");
+        assertNull(store.get(3).getVehicle(), "Missing vehicles should stay missing");
+        assertEquals(3, store.getBookingId(4), "Later rows should shift up");
+        assertEquals(100, store.remove(3).getBookingId(), "Removed row should be returned");
+        assertEquals(FacilityTime.toMinutes(startTime.plusHours(3)), store.getStartMinute(3), "Columns should shift back together");
+        assertSame(bike, store.getVehicle(3), "Vehicle column should shift with the rest");
+    }
+
+    @Test
+    void testScansAndLookups() {
+        for (int i = 0; i < 6; i++) {
+            store.add(new Booking(i, i < 2 ? car : bike, slot, startTime.plusHours(i), startTime.plusHours(i + 1), 5.0));
+        }
+
+        assertEquals(2, store.findByVehicle(car).size(), "Vehicle scan should find its rows");
+        assertEquals(6, store.findBySlot(slot).size(), "Slot scan should find all rows");
+        assertTrue(store.findByVehicle(new Vehicle(3, VehicleType.CAR, 0.0)).isEmpty(), "Unknown vehicles have no rows");
+        assertEquals(4, store.findRow(4), "Rows should be found by booking ID");
+        assertEquals(-1, store.findRow(42), "Unknown IDs should not be found");
+        assertEquals(2, store.indexOf(store.get(2)), "A view should be found again");
+        assertEquals(-1, store.indexOf("not a booking"), "Other objects should not be found");
+    }
+
+    @Test
+    void testSetStatusAndClear() {
+        store.add(new Booking(1, car, slot, startTime, startTime.plusHours(1), 5.0));
+        store.setStatus(0, BookingStatus.COMPLETED);
+        assertEquals(BookingStatus.COMPLETED, store.getStatus(0), "Status byte should be updated");
+
+        store.clear();
+        assertEquals(0, store.size(), "Clear should drop all rows");
+        assertThrows(IndexOutOfBoundsException.class, () -> store.get(0), "Reading past the end should fail");
+    }
+
+    @Test
+    void testIndexesFollowOutOfOrderIdsAndEdits() {
+        int[] bookingIds = {5, 2, 9, 2, 7, 1};
+        for (int i = 0; i < bookingIds.length; i++) {
+            store.add(new Booking(bookingIds[i], i % 2 == 0 ? car : bike, slot, startTime.plusHours(i), startTime.plusHours(i + 1), 1.0));
+        }
+        assertEquals(3, store.findRow(2), "Duplicate IDs should resolve to the last row");
+        assertEquals(1, store.indexOf(store.get(1)), "Views should find their own row among duplicate IDs");
+
+        store.add(0, new Booking(8, bike, slot, startTime, startTime.plusHours(1), 1.0));
+        assertEquals(0, store.findRow(8), "Inserted row should be indexed");
+        assertEquals(3, store.findRow(9), "Rows after the insert should shift in the index");
+        assertEquals(List.of(8, 2, 2, 1), ids(store.findByVehicle(bike)), "Vehicle rows should follow the insert");
+
+        store.set(3, new Booking(4, car, slot, startTime, startTime.plusHours(1), 1.0));
+        assertEquals(-1, store.findRow(9), "Overwritten ID should be gone");
+        assertEquals(3, store.findRow(4), "New ID should be indexed");
+        assertEquals(List.of(5, 4, 7), ids(store.findByVehicle(car)), "Vehicle rows should follow the overwrite");
+
+        store.remove(0);
+        store.remove(store.size() - 1);
+        assertEquals(-1, store.findRow(1), "Removed last row should be gone");
+        assertEquals(2, store.findRow(4), "Rows after a removal should shift back");
+        assertEquals(List.of(2, 2), ids(store.findByVehicle(bike)), "Vehicle rows should follow removals");
+        assertEquals(5, store.findBySlot(slot).size(), "Slot rows should follow removals");
+    }
+
+    private static List<Integer> ids(List<Booking> bookings) {
+        List<Integer> ids = new java.util.ArrayList<>();
+        for (Booking booking : bookings) {
+            ids.add(booking.getBookingId());
+        }
+        return ids;
+    }
+}
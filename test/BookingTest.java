@@ -205,4 +205,19 @@ class BookingTest {
         assertEquals(endTime, booking.getEndTime(), "End time should remain unchanged");
         assertEquals(50.0, booking.getAmount(), 0.01, "Amount should remain unchanged");
     }
+
+    @Test
+    void testEpochMinuteRepresentation() {
+        assertEquals(120, booking.getEndMinute() - booking.getStartMinute(), "Two hour booking should span 120 minutes");
+        Booking fromMinutes = new Booking(3, vehicle, slot, booking.getStartMinute(), booking.getEndMinute(), 50.0);
+        assertEquals(startTime, fromMinutes.getStartTime(), "Minutes should map back to the start time");
+        assertEquals(endTime, fromMinutes.getEndTime(), "Minutes should map back to the end time");
+    }
+
+    @Test
+    void testSubMinuteTimesRoundOutwards() {
+        Booking partial = new Booking(4, vehicle, slot, startTime.plusSeconds(30), endTime.plusSeconds(30), 50.0);
+        assertEquals(startTime, partial.getStartTime(), "Start should round down to the minute");
+        assertEquals(endTime.plusMinutes(1), partial.getEndTime(), "End should round up to the minute");
+    }
 }
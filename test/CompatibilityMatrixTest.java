@@ -0,0 +1,82 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Properties;
+
+class CompatibilityMatrixTest {
+
+    @AfterEach
+    void tearDown() {
+        CompatibilityMatrix.configure(CompatibilityMatrix.defaults());
+    }
+
+    @Test
+    void testDefaultsMatchDocumentedMatrix() {
+        CompatibilityMatrix matrix = CompatibilityMatrix.defaults();
+
+        assertTrue(matrix.allows(VehicleType.CAR, ParkingSlotType.REGULAR), "Car should fit REGULAR");
+        assertFalse(matrix.allows(VehicleType.CAR, ParkingSlotType.COMPACT), "Car should not fit COMPACT");
+        assertTrue(matrix.allows(VehicleType.BUS, ParkingSlotType.LARGE), "Bus should fit LARGE");
+        assertFalse(matrix.allows(VehicleType.MICROCAR, ParkingSlotType.LARGE), "Microcar should not fit LARGE");
+        assertEquals(4, matrix.getAllowedSlotTypes(VehicleType.BICYCLE).length, "Bicycle should fit every slot type");
+        assertEquals(0, matrix.getAllowedSlotTypes(VehicleType.TRUCK).length, "Truck should fit no slot type");
+    }
+
+    @Test
+    void testFromPropertiesOverridesOnlyListedTypes() {
+        Properties properties = new Properties();
+        properties.setProperty("TRUCK", "LARGE");
+        properties.setProperty("CAR", "");
+
+        CompatibilityMatrix matrix = CompatibilityMatrix.fromProperties(properties);
+
+        assertTrue(matrix.allows(VehicleType.TRUCK, ParkingSlotType.LARGE), "Configured rule should allow TRUCK in LARGE");
+        assertEquals(0, matrix.getAllowedSlotTypes(VehicleType.CAR).length, "Empty value should allow nothing");
+        assertTrue(matrix.allows(VehicleType.BUS, ParkingSlotType.LARGE), "Unlisted types should keep default rules");
+    }
+
+    @Test
+    void testFromPropertiesRejectsUnknownSlotType() {
+        Properties properties = new Properties();
+        properties.setProperty("BUS", "HANGAR");
+
+        assertThrows(IllegalArgumentException.class, () -> CompatibilityMatrix.fromProperties(properties),
+            "Unknown slot type names should be rejected");
+    }
+
+    @Test
+    void testLoadFromFile() throws IOException {
+        Path file = Files.createTempFile("compatibility", ".properties");
+        Files.writeString(file, "TRUCK=LARGE\n");
+        try {
+            CompatibilityMatrix matrix = CompatibilityMatrix.load(file.toString());
+            assertTrue(matrix.allows(VehicleType.TRUCK, ParkingSlotType.LARGE), "Rules should be read from the file");
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void testLoadFromMissingFile() {
+        assertThrows(UncheckedIOException.class, () -> CompatibilityMatrix.load("/does/not/exist.properties"),
+            "Missing configuration file should fail fast");
+    }
+
+    @Test
+    void testConfiguredMatrixDrivesSlotCompatibility() {
+        ParkingSlot largeSlot = new ParkingSlot("LAR001", ParkingSlotType.LARGE);
+        LocalDateTime start = LocalDateTime.of(2023, 10, 15, 10, 0);
+        assertFalse(largeSlot.isCompatible(VehicleType.TRUCK, start, start.plusHours(1)), "Truck should not fit by default");
+
+        Properties properties = new Properties();
+        properties.setProperty("TRUCK", "LARGE");
+        CompatibilityMatrix.configure(CompatibilityMatrix.fromProperties(properties));
+
+        assertTrue(largeSlot.isCompatible(VehicleType.TRUCK, start, start.plusHours(1)), "Configured matrix should allow TRUCK in LARGE");
+    }
+}
@@ -0,0 +1,77 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+class FacilityImporterTest {
+    @TempDir
+    Path dir;
+
+    private ParkingSystem system;
+
+    @BeforeEach
+    void setUp() {
+        system = new ParkingSystem("import");
+    }
+
+    private Path write(String name, String content) throws Exception {
+        return Files.writeString(dir.resolve(name), content);
+    }
+
+    @Test
+    void testImportSlots() throws Exception {
+        Path csv = write("slots.csv", "slotId,slotType,active,balance\r\n"
+                + "# ground floor\r\n"
+                + "REG001,REGULAR\r\n"
+                + "\r\n"
+                + "LAR001, large ,false,12.5\r\n"
+                + "COM001,COMPACT,true,3.07");
+
+        assertEquals(3, FacilityImporter.importSlots(system, csv), "Every slot line should be imported");
+
+        SlotInventory slots = (SlotInventory) system.getParkingSlots();
+        assertEquals("REG001", slots.get(0).getSlotId(), "Slots should keep file order");
+        assertFalse(slots.get(1).isActive(), "Active flag should be read");
+        assertEquals(0, slots.countActive(ParkingSlotType.LARGE), "Inactive slots should not be indexed as active");
+        assertEquals(1, slots.countActive(ParkingSlotType.COMPACT), "Slots should be indexed by type");
+        assertEquals(12.5, slots.get(1).getBalance(), 0.001, "One decimal should be read as cents");
+        assertEquals(307, slots.get(2).getWallet().getBalanceMinorUnits(), "Balances should be read exactly");
+    }
+
+    @Test
+    void testImportManyVehiclesAcrossBuffers() throws Exception {
+        StringBuilder content = new StringBuilder("vehicleId,vehicleType,balance\n");
+        int count = FacilityImporter.BATCH_SIZE * 2 + 17;
+        for (int i = 1; i <= count; i++) {
+            content.append(i).append(',').append(i % 2 == 0 ? "CAR" : "bicycle").append(',').append(i).append(".25\n");
+        }
+        Path csv = write("vehicles.csv", content.toString());
+
+        assertEquals(count, FacilityImporter.importVehicles(system, csv), "Every vehicle should be imported");
+        assertEquals(count, system.getVehicles().size(), "Vehicles should be registered");
+        Vehicle last = system.getVehicles().get(count - 1);
+        assertEquals(count, last.getVehicleId(), "Last vehicle should be read intact");
+        assertEquals(VehicleType.BICYCLE, last.getVehicleType(), "Types should be case-insensitive");
+        assertEquals(count + 0.25, last.getBalance(), 0.001, "Balance should be read");
+    }
+
+    @Test
+    void testReportsBadLines() throws Exception {
+        Path badType = write("bad-type.csv", "1,CAR,10\n2,PLANE,10\n");
+        ImportException e = assertThrows(ImportException.class, () -> FacilityImporter.importVehicles(system, badType),
+            "Unknown vehicle types should be rejected");
+        assertTrue(e.getMessage().contains("line 2"), "Error should name the line");
+
+        Path badBalance = write("bad-balance.csv", "1,CAR,10.123\n");
+        assertThrows(ImportException.class, () -> FacilityImporter.importVehicles(system, badBalance),
+            "Sub-cent balances should be rejected");
+        Path negative = write("negative.csv", "1,CAR,-5\n");
+        assertThrows(ImportException.class, () -> FacilityImporter.importVehicles(system, negative),
+            "Negative balances should be rejected");
+        Path missing = write("missing.csv", "REG001\n");
+        assertThrows(ImportException.class, () -> FacilityImporter.importSlots(system, missing),
+            "Slot lines need a type");
+    }
+}
@@ -0,0 +1,75 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+class FacilityRouterTest {
+    private FacilityRouter router;
+    private ParkingSystem north;
+    private ParkingSystem south;
+    private ParkingSlot northSlot;
+    private ParkingSlot southSlot;
+    private Vehicle car;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+
+    @BeforeEach
+    void setUp() {
+        router = new FacilityRouter();
+        north = router.createFacility("NORTH");
+        south = router.createFacility("SOUTH");
+        northSlot = new ParkingSlot("N001", ParkingSlotType.REGULAR);
+        southSlot = new ParkingSlot("S001", ParkingSlotType.LARGE);
+        north.addParkingSlot(northSlot);
+        south.addParkingSlot(southSlot);
+        car = new Vehicle(1, VehicleType.CAR, 1000.0);
+        startTime = LocalDateTime.of(2023, 10, 15, 10, 0);
+        endTime = LocalDateTime.of(2023, 10, 15, 12, 0);
+    }
+
+    @Test
+    void testFacilitiesAreIndependent() {
+        router.book("NORTH", car, northSlot, startTime, endTime);
+
+        assertEquals(1, north.getBookings().size(), "Booking should be recorded in the routed facility");
+        assertEquals(0, south.getBookings().size(), "Other facilities should not see the booking");
+        assertEquals(20.0, north.getBalance(), 0.01, "Routed facility should collect the payment");
+        assertEquals(0.0, south.getBalance(), 0.01, "Other facilities should keep their own system wallet");
+    }
+
+    @Test
+    void testRouteUnknownFacility() {
+        assertThrows(UnknownFacilityException.class, () -> router.route("EAST"),
+            "Routing to an unregistered facility should fail");
+    }
+
+    @Test
+    void testDuplicateFacilityRejected() {
+        assertThrows(IllegalArgumentException.class, () -> router.createFacility("NORTH"),
+            "Registering the same facility ID twice should fail");
+    }
+
+    @Test
+    void testBlankFacilityIdRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new ParkingSystem(" "),
+            "Blank facility IDs should be rejected");
+    }
+
+    @Test
+    void testSearchEverywhereFansOutToAllFacilities() {
+        Map<String, List<ParkingSlot>> results = router.getAvailableParkingSlotsEverywhere(car, startTime, endTime);
+
+        assertEquals(2, results.size(), "Every facility should report its results");
+        assertEquals(List.of(northSlot), results.get("NORTH"), "NORTH should return its own slot");
+        assertEquals(List.of(southSlot), results.get("SOUTH"), "SOUTH should return its own slot");
+    }
+
+    @Test
+    void testDefaultInstanceIsNotRegistered() {
+        assertNotSame(ParkingSystem.getInstance(), north, "Facility instances should be separate from the singleton");
+        assertEquals(ParkingSystem.DEFAULT_FACILITY_ID, ParkingSystem.getInstance().getFacilityId(),
+            "Singleton should use the default facility ID");
+    }
+}
@@ -0,0 +1,140 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+class FacilitySnapshotTest {
+    @TempDir
+    Path dir;
+
+    private ParkingSystem system;
+    private Vehicle car;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+
+    @BeforeEach
+    void setUp() {
+        system = new ParkingSystem("north");
+        for (int i = 0; i < 4; i++) {
+            system.addParkingSlot(new ParkingSlot("REG00" + i, ParkingSlotType.REGULAR));
+        }
+        car = new Vehicle(1, VehicleType.CAR, 1000.0);
+        system.addVehicle(car);
+        startTime = LocalDateTime.of(2023, 10, 15, 10, 0);
+        endTime = LocalDateTime.of(2023, 10, 15, 12, 0);
+    }
+
+    private ParkingSlot slot(ParkingSystem facility, int index) {
+        return facility.getParkingSlots().get(index);
+    }
+
+    @Test
+    void testRoundTrip() {
+        Booking kept = system.book(car, slot(system, 0), startTime, endTime);
+        Booking cancelled = system.book(car, slot(system, 1), startTime, endTime);
+        system.cancelBooking(cancelled);
+        slot(system, 3).deactivate();
+
+        ParkingSystem loaded = FacilitySnapshot.load(FacilitySnapshot.write(system, dir));
+
+        assertEquals("north", loaded.getFacilityId(), "Facility ID should be kept");
+        assertEquals(4, loaded.getParkingSlots().size(), "All slots should be restored");
+        assertFalse(slot(loaded, 3).isActive(), "Active flags should be kept");
+        assertEquals(1, loaded.getBookings().size(), "Only live bookings should be stored");
+        assertEquals(kept.getEndTime(), loaded.getBooking(kept.getBookingId()).getEndTime(), "Live booking should be restored");
+        assertFalse(slot(loaded, 0).isAvailable(startTime, endTime), "Live booking should block its slot");
+        assertTrue(slot(loaded, 1).isAvailable(startTime, endTime), "Cancelled booking should not be restored");
+        assertEquals(car.getBalance(), loaded.getVehicles().get(0).getBalance(), 0.001, "Vehicle balance should be kept");
+        assertEquals(system.getBalance(), loaded.getBalance(), 0.001, "System balance should be kept");
+
+        Booking next = loaded.book(loaded.getVehicles().get(0), slot(loaded, 2), startTime, endTime);
+        assertEquals(cancelled.getBookingId() + 1, next.getBookingId(), "IDs should not be reused after loading");
+    }
+
+    @Test
+    void testRecoverReplaysJournalTail() {
+        try (BookingJournal journal = BookingJournal.open(dir.resolve("journal"))) {
+            system.setJournal(journal);
+            Booking first = system.book(car, slot(system, 0), startTime, endTime);
+            FacilitySnapshot.write(system, dir.resolve("snapshots"));
+            Booking second = system.book(car, slot(system, 1), startTime, endTime);
+            system.completeBooking(first);
+
+            ParkingSystem recovered = FacilitySnapshot.recover(dir.resolve("snapshots"), journal);
+
+            assertEquals(BookingStatus.COMPLETED, recovered.getBooking(first.getBookingId()).getBookingStatus(),
+                "Completion after the snapshot should be replayed");
+            assertEquals("REG001", recovered.getBooking(second.getBookingId()).getParkingSlot().getSlotId(),
+                "Booking after the snapshot should be replayed");
+            assertTrue(slot(recovered, 0).isAvailable(startTime, endTime), "Completed booking should free its slot");
+            assertFalse(slot(recovered, 1).isAvailable(startTime, endTime), "New booking should block its slot");
+            assertEquals(car.getBalance(), recovered.getVehicles().get(0).getBalance(), 0.001, "Vehicle balance should match");
+            assertEquals(system.getBalance(), recovered.getBalance(), 0.001, "System balance should match");
+            assertEquals(slot(system, 0).getBalance(), slot(recovered, 0).getBalance(), 0.001, "Slot payout should match");
+            assertSame(journal, recovered.getJournal(), "Recovered facility should keep journaling");
+        }
+    }
+
+    @Test
+    void testSnapshotsWhileBooking() throws Exception {
+        for (int i = 4; i < 64; i++) {
+            system.addParkingSlot(new ParkingSlot("REG" + i, ParkingSlotType.REGULAR));
+        }
+        Path snapshots = dir.resolve("snapshots");
+        try (BookingJournal journal = BookingJournal.open(dir.resolve("journal"));
+             SnapshotWriter writer = new SnapshotWriter(system, snapshots)) {
+            system.setJournal(journal);
+            ExecutorService pool = Executors.newFixedThreadPool(4);
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int thread = t;
+                tasks.add(pool.submit(() -> {
+                    for (int i = thread; i < 64; i += 4) {
+                        Booking booking = system.book(car, slot(system, i), startTime, endTime);
+                        if (i % 3 == 0) {
+                            system.cancelBooking(booking);
+                        }
+                    }
+                }));
+            }
+            List<Future<Path>> written = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                written.add(writer.snapshotNow());
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+            for (Future<Path> snapshot : written) {
+                snapshot.get();
+            }
+            pool.shutdown();
+
+            ParkingSystem recovered = FacilitySnapshot.recover(snapshots, journal);
+
+            assertEquals(system.getBalance(), recovered.getBalance(), 0.001, "System balance should match");
+            assertEquals(car.getBalance(), recovered.getVehicles().get(0).getBalance(), 0.001, "Vehicle balance should match");
+            for (int i = 0; i < 64; i++) {
+                assertEquals(slot(system, i).isAvailable(startTime, endTime), slot(recovered, i).isAvailable(startTime, endTime),
+                    "Slot " + i + " should have the same availability after recovery");
+            }
+            assertTrue(Files.list(snapshots).count() <= SnapshotWriter.DEFAULT_RETAINED, "Old snapshots should be pruned");
+        }
+    }
+
+    @Test
+    void testRecoverWithoutSnapshotFails() {
+        try (BookingJournal journal = BookingJournal.open(dir.resolve("journal"))) {
+            assertNull(FacilitySnapshot.latest(dir.resolve("missing")), "Missing directories hold no snapshot");
+            assertThrows(IllegalStateException.class, () -> FacilitySnapshot.recover(dir, journal),
+                "Recovery needs a snapshot");
+        }
+    }
+}
@@ -0,0 +1,29 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.time.LocalDateTime;
+
+class FacilityTimeTest {
+    @Test
+    void testRoundTrip() {
+        LocalDateTime time = LocalDateTime.of(2023, 10, 15, 10, 45);
+        long minutes = FacilityTime.toMinutes(time);
+
+        assertEquals(time, FacilityTime.toDateTime(minutes), "Whole minutes should convert back unchanged");
+        assertEquals(minutes, FacilityTime.toMinutesCeil(time), "Whole minutes should not round up");
+        assertEquals(minutes + 60, FacilityTime.toMinutes(time.plusHours(1)), "One hour should be 60 minutes");
+    }
+
+    @Test
+    void testRounding() {
+        LocalDateTime time = LocalDateTime.of(2023, 10, 15, 10, 45, 1);
+        assertEquals(FacilityTime.toMinutes(time.withSecond(0)), FacilityTime.toMinutes(time), "Floor should drop seconds");
+        assertEquals(FacilityTime.toMinutes(time.withSecond(0)) + 1, FacilityTime.toMinutesCeil(time), "Ceil should round up");
+    }
+
+    @Test
+    void testBeforeEpoch() {
+        LocalDateTime time = LocalDateTime.of(1969, 12, 31, 23, 59, 30);
+        assertEquals(-1, FacilityTime.toMinutes(time), "Times before the epoch should round down");
+        assertEquals(0, FacilityTime.toMinutesCeil(time), "Times before the epoch should round up towards zero");
+    }
+}
@@ -0,0 +1,73 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.time.LocalDateTime;
+
+class OccupancyBitmapTest {
+    private OccupancyBitmap bitmap;
+    private long base;
+
+    @BeforeEach
+    void setUp() {
+        bitmap = new OccupancyBitmap(128);
+        base = OccupancyBitmap.bucketOf(LocalDateTime.of(2023, 10, 15, 0, 0));
+        bitmap.anchor(base);
+    }
+
+    @Test
+    void testBucketRounding() {
+        LocalDateTime time = LocalDateTime.of(2023, 10, 15, 10, 20);
+
+        assertEquals(OccupancyBitmap.bucketOf(LocalDateTime.of(2023, 10, 15, 10, 15)), OccupancyBitmap.bucketOf(time),
+            "Start should round down to its quarter hour");
+        assertEquals(OccupancyBitmap.bucketOf(LocalDateTime.of(2023, 10, 15, 10, 30)), OccupancyBitmap.bucketAfter(time),
+            "End should round up to the next quarter hour");
+        assertEquals(OccupancyBitmap.bucketOf(time.withMinute(30)), OccupancyBitmap.bucketAfter(time.withMinute(30)),
+            "Aligned end should not round up");
+        assertEquals(time.withMinute(15), OccupancyBitmap.startOf(OccupancyBitmap.bucketOf(time)), "Bucket should map back to its start");
+    }
+
+    @Test
+    void testMarkAndClearAcrossWords() {
+        bitmap.mark(base + 60, base + 70);
+
+        assertFalse(bitmap.isClear(base + 69, base + 71), "Marked range should not be clear");
+        assertTrue(bitmap.isClear(base + 70, base + 128), "Buckets after the range should be clear");
+        assertTrue(bitmap.isClear(base, base + 60), "Buckets before the range should be clear");
+
+        bitmap.clear(base + 60, base + 65);
+        assertTrue(bitmap.isClear(base + 60, base + 65), "Cleared buckets should be free");
+        assertFalse(bitmap.isClear(base + 65, base + 66), "Buckets outside the cleared range should stay marked");
+    }
+
+    @Test
+    void testCoversHorizonOnly() {
+        assertEquals(128, bitmap.getCapacity(), "Capacity should be a whole number of words");
+        assertTrue(bitmap.covers(base, base + 128), "Whole horizon should be covered");
+        assertFalse(bitmap.covers(base - 1, base + 1), "Buckets before the base are not covered");
+        assertFalse(bitmap.covers(base + 127, base + 129), "Buckets past the end are not covered");
+        assertThrows(IllegalArgumentException.class, () -> bitmap.isClear(base + 120, base + 130),
+            "Querying outside the horizon should be rejected");
+        assertFalse(new OccupancyBitmap().covers(0, 1), "Unanchored bitmap covers nothing");
+    }
+
+    @Test
+    void testAdvanceReusesFrontBuckets() {
+        bitmap.mark(base, base + 10);
+        bitmap.mark(base + 100, base + 110);
+
+        bitmap.advanceTo(base + 20);
+
+        assertEquals(base + 20, bitmap.getBase(), "Base should move forward");
+        assertTrue(bitmap.isClear(base + 128, base + 148), "Reused buckets should start clear");
+        assertFalse(bitmap.isClear(base + 100, base + 110), "Bits inside the new horizon should survive");
+
+        bitmap.advanceTo(base + 1000);
+        assertTrue(bitmap.isClear(base + 1000, base + 1128), "A jump past the horizon should clear everything");
+    }
+
+    @Test
+    void testRejectsEmptyHorizon() {
+        assertThrows(IllegalArgumentException.class, () -> new OccupancyBitmap(0), "Horizon must not be empty");
+    }
+}
@@ -0,0 +1,80 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class OccupancyCountersTest {
+    private OccupancyCounters counters;
+    private ParkingSlot regular1;
+    private ParkingSlot regular2;
+
+    @BeforeEach
+    void setUp() {
+        counters = new OccupancyCounters();
+        regular1 = new ParkingSlot("REG001", ParkingSlotType.REGULAR);
+        regular2 = new ParkingSlot("REG002", ParkingSlotType.REGULAR);
+        counters.setCounted(regular1, true);
+        counters.setCounted(regular2, true);
+    }
+
+    @Test
+    void testAddCountsSlotsPerStartedBucket() {
+        counters.add(regular1, 600, 640, 1);
+        counters.add(regular2, 615, 630, 1);
+
+        assertEquals(1, counters.getBooked(ParkingSlotType.REGULAR, 600), "First bucket should hold one slot");
+        assertEquals(2, counters.getBooked(ParkingSlotType.REGULAR, 620), "Second bucket should hold both slots");
+        assertEquals(1, counters.getBooked(ParkingSlotType.REGULAR, 644), "Partly used third bucket should count");
+        assertEquals(0, counters.getBooked(ParkingSlotType.REGULAR, 645), "Buckets after the bookings should be empty");
+        assertEquals(0, counters.getBooked(ParkingSlotType.LARGE, 620), "Other slot types should be unaffected");
+
+        counters.add(regular2, 615, 630, -1);
+        assertEquals(1, counters.getBooked(ParkingSlotType.REGULAR, 620), "Removal should undo its buckets only");
+    }
+
+    @Test
+    void testShortBookingsOnOneSlotCountOnce() {
+        for (int minute = 600; minute < 660; minute += 15) {
+            counters.add(regular1, minute, minute + 5, 1);
+        }
+        counters.add(regular1, 605, 610, 1);
+
+        assertEquals(1, counters.getBooked(ParkingSlotType.REGULAR, 600), "Two bookings in one bucket should take one slot");
+        assertEquals(1, counters.getBooked(ParkingSlotType.REGULAR, 650), "Each short booking should take its own bucket");
+
+        counters.add(regular1, 600, 605, -1);
+        assertEquals(1, counters.getBooked(ParkingSlotType.REGULAR, 600), "The slot stays taken while a booking is left in the bucket");
+        counters.add(regular1, 605, 610, -1);
+        assertEquals(0, counters.getBooked(ParkingSlotType.REGULAR, 600), "The slot is free once its last booking in the bucket goes");
+    }
+
+    @Test
+    void testInactiveAndRemovedSlotsAreNotCounted() {
+        counters.add(regular1, 600, 660, 1);
+        counters.setCounted(regular1, false);
+        assertEquals(0, counters.getBooked(ParkingSlotType.REGULAR, 630), "Inactive slots should not count");
+
+        counters.add(regular1, 660, 675, 1);
+        counters.setCounted(regular1, true);
+        assertEquals(1, counters.getBooked(ParkingSlotType.REGULAR, 630), "Reactivated slots should count their bookings again");
+        assertEquals(1, counters.getBooked(ParkingSlotType.REGULAR, 665), "Bookings placed while inactive should count too");
+
+        counters.remove(regular1);
+        assertEquals(0, counters.getBooked(ParkingSlotType.REGULAR, 630), "Removed slots should no longer count");
+    }
+
+    @Test
+    void testPruneDropsPastBuckets() {
+        ParkingSlot compact = new ParkingSlot("COM001", ParkingSlotType.COMPACT);
+        counters.setCounted(compact, true);
+        counters.add(compact, 0, 180, 1);
+        counters.prune(120);
+
+        assertEquals(0, counters.getBooked(ParkingSlotType.COMPACT, 60), "Pruned buckets should be dropped");
+        assertEquals(1, counters.getBooked(ParkingSlotType.COMPACT, 150), "Current bucket should be kept");
+
+        counters.add(compact, 0, 180, -1);
+        assertEquals(0, counters.getBooked(ParkingSlotType.COMPACT, 150), "Releasing after a prune should only touch kept buckets");
+        counters.add(compact, 0, 60, 1);
+        assertEquals(0, counters.getBooked(ParkingSlotType.COMPACT, 30), "Past buckets should not be counted again");
+    }
+}
@@ -229,6 +229,19 @@ class ParkingSystemTest {
         }, "Booking with insufficient funds should throw InsufficientFundsException");
     }
 
+    @Test
+    void testDeclinedBookingIsNotRegistered() {
+        Vehicle poorVehicle = new Vehicle(99, VehicleType.CAR, 1.0);
+        parkingSystem.addVehicle(poorVehicle);
+        double systemBalance = parkingSystem.getBalance();
+
+        assertThrows(InsufficientFundsException.class, () -> parkingSystem.book(poorVehicle, regularSlot, startTime, endTime),
+            "Booking with insufficient funds should throw InsufficientFundsException");
+        assertTrue(parkingSystem.getBookings().isEmpty(), "A declined booking should not be registered");
+        assertTrue(regularSlot.isAvailable(startTime, endTime), "A declined booking should not hold its slot");
+        assertEquals(systemBalance, parkingSystem.getBalance(), 0.001, "Nothing should be charged or refunded");
+    }
+
     @Test
     void testPricingCalculation() {
         // Test different vehicle types and slot types for pricing
@@ -355,4 +368,403 @@ class ParkingSystemTest {
         assertEquals(booking.getAmount(), parkingSystem.getBalance(), 0.01, 
             "System balance should equal booking amount after booking");
     }
+
+    @Test
+    void testReactivatedSlotAvailableAgain() {
+        regularSlot.deactivate();
+        regularSlot.activate();
+
+        List<ParkingSlot> availableSlots = parkingSystem.getAvailableParkingSlots(car, startTime, endTime);
+        assertTrue(availableSlots.contains(regularSlot), "Reactivated slot should be available again");
+    }
+
+    @Test
+    void testSetParkingSlotsReplacesInventory() {
+        ParkingSlot newSlot = new ParkingSlot("NEW001", ParkingSlotType.LARGE);
+        parkingSystem.setParkingSlots(new java.util.ArrayList<>(List.of(newSlot)));
+
+        List<ParkingSlot> availableSlots = parkingSystem.getAvailableParkingSlots(bus, startTime, endTime);
+        assertEquals(1, availableSlots.size(), "Only the replacement slot should be searchable");
+        assertTrue(availableSlots.contains(newSlot), "Replacement slot should be available");
+    }
+
+    @Test
+    void testConcurrentBookingsOnSameSlotAreSerialized() throws Exception {
+        int threads = 16;
+        java.util.concurrent.ExecutorService executor = java.util.concurrent.Executors.newFixedThreadPool(threads);
+        java.util.concurrent.CountDownLatch start = new java.util.concurrent.CountDownLatch(1);
+        java.util.concurrent.atomic.AtomicInteger successes = new java.util.concurrent.atomic.AtomicInteger();
+        List<java.util.concurrent.Future<?>> futures = new java.util.ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Vehicle vehicle = new Vehicle(200 + i, VehicleType.CAR, 1000.0);
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    parkingSystem.book(vehicle, regularSlot, startTime, endTime);
+                    successes.incrementAndGet();
+                } catch (IllegalArgumentException expected) {
+                    // slot already taken by another thread
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (java.util.concurrent.Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(1, successes.get(), "Only one of the overlapping concurrent bookings should succeed");
+        assertEquals(1, regularSlot.getBookings().size(), "Slot should hold exactly one booking");
+    }
+
+    @Test
+    void testConcurrentBookingsOnDifferentSlotsAllSucceed() throws Exception {
+        int slots = 32;
+        List<ParkingSlot> extraSlots = new java.util.ArrayList<>();
+        for (int i = 0; i < slots; i++) {
+            ParkingSlot slot = new ParkingSlot("PAR" + i, ParkingSlotType.REGULAR);
+            extraSlots.add(slot);
+            parkingSystem.addParkingSlot(slot);
+        }
+        java.util.concurrent.ExecutorService executor = java.util.concurrent.Executors.newFixedThreadPool(8);
+        List<java.util.concurrent.Future<Booking>> futures = new java.util.ArrayList<>();
+        for (int i = 0; i < slots; i++) {
+            ParkingSlot slot = extraSlots.get(i);
+            Vehicle vehicle = new Vehicle(300 + i, VehicleType.CAR, 1000.0);
+            futures.add(executor.submit(() -> parkingSystem.book(vehicle, slot, startTime, endTime)));
+        }
+        for (java.util.concurrent.Future<Booking> future : futures) {
+            assertNotNull(future.get(), "Booking on a free slot should succeed");
+        }
+        executor.shutdown();
+
+        assertEquals(slots, parkingSystem.getBookings().size(), "Every booking should be recorded");
+    }
+
+    @Test
+    void testConcurrentBookingsKeepSystemBalanceConsistent() throws Exception {
+        int slots = 64;
+        java.util.concurrent.ExecutorService executor = java.util.concurrent.Executors.newFixedThreadPool(8);
+        List<java.util.concurrent.Future<Booking>> futures = new java.util.ArrayList<>();
+        Vehicle sharedVehicle = new Vehicle(400, VehicleType.CAR, 10_000.0);
+        for (int i = 0; i < slots; i++) {
+            ParkingSlot slot = new ParkingSlot("BAL" + i, ParkingSlotType.REGULAR);
+            parkingSystem.addParkingSlot(slot);
+            futures.add(executor.submit(() -> parkingSystem.book(sharedVehicle, slot, startTime, endTime)));
+        }
+        double total = 0;
+        for (java.util.concurrent.Future<Booking> future : futures) {
+            total += future.get().getAmount();
+        }
+        executor.shutdown();
+
+        assertEquals(total, parkingSystem.getBalance(), 0.001, "System wallet should hold every concurrent payment");
+        assertEquals(10_000.0 - total, sharedVehicle.getBalance(), 0.001, "Shared vehicle wallet should be charged for every booking");
+    }
+
+    @Test
+    void testCompleteAndCancelById() {
+        Booking first = parkingSystem.book(car, regularSlot, startTime, endTime);
+        Booking second = parkingSystem.book(bus, largeSlot, startTime, endTime);
+
+        assertSame(first, parkingSystem.getBooking(first.getBookingId()), "Booking should be found by ID");
+        parkingSystem.completeBooking(first.getBookingId());
+        parkingSystem.cancelBooking(second.getBookingId());
+
+        assertEquals(BookingStatus.COMPLETED, first.getBookingStatus(), "Booking completed by ID should be COMPLETED");
+        assertEquals(BookingStatus.CANCELLED, second.getBookingStatus(), "Booking cancelled by ID should be CANCELLED");
+        assertTrue(parkingSystem.getBookings(car).contains(first), "Booking should be indexed by vehicle");
+        assertTrue(parkingSystem.getBookings(largeSlot).contains(second), "Booking should be indexed by slot");
+    }
+
+    @Test
+    void testClosedBookingsCannotBeClosedAgain() {
+        // A facility of its own: compacting history would prune the shared instance's occupancy.
+        ParkingSystem parkingSystem = new ParkingSystem("closed");
+        parkingSystem.addParkingSlot(regularSlot);
+        parkingSystem.addParkingSlot(largeSlot);
+        Booking first = parkingSystem.book(car, regularSlot, startTime, endTime);
+        Booking second = parkingSystem.book(bus, largeSlot, startTime, endTime);
+        parkingSystem.completeBooking(first);
+        parkingSystem.cancelBooking(second);
+        parkingSystem.compactHistory(endTime.plusDays(1));
+        double systemBalance = parkingSystem.getBalance();
+        double carBalance = car.getBalance();
+        double slotBalance = regularSlot.getBalance();
+
+        assertThrows(IllegalStateException.class, () -> parkingSystem.cancelBooking(first.getBookingId()),
+            "An archived booking should not be cancelled");
+        assertThrows(IllegalStateException.class, () -> parkingSystem.completeBooking(second.getBookingId()),
+            "An archived booking should not be completed");
+        assertThrows(IllegalStateException.class, () -> parkingSystem.completeBooking(first),
+            "A completed booking should not be completed again");
+        assertEquals(systemBalance, parkingSystem.getBalance(), 0.001, "No money should move for a closed booking");
+        assertEquals(carBalance, car.getBalance(), 0.001, "No refund should be paid for a closed booking");
+        assertEquals(slotBalance, regularSlot.getBalance(), 0.001, "No payout should be paid for a closed booking");
+    }
+
+    @Test
+    void testSetBookingsDoesNotReuseIds() {
+        Booking first = parkingSystem.book(car, regularSlot, startTime, endTime);
+        parkingSystem.setBookings(new java.util.ArrayList<>());
+
+        Booking second = parkingSystem.book(bus, largeSlot, startTime, endTime);
+        assertNotEquals(first.getBookingId(), second.getBookingId(), "Replacing the booking list should not reuse IDs");
+    }
+
+    @Test
+    void testCancelledBookingFreesSlot() {
+        Booking booking = parkingSystem.book(car, regularSlot, startTime, endTime);
+        parkingSystem.cancelBooking(booking);
+
+        assertTrue(regularSlot.isAvailable(startTime, endTime), "Cancelled booking should free its window");
+        Booking rebooked = parkingSystem.book(motorcycle, regularSlot, startTime, endTime);
+        assertEquals(BookingStatus.ACTIVE, rebooked.getBookingStatus(), "Freed window should be bookable again");
+    }
+
+    @Test
+    void testCompactHistoryAcrossSlots() {
+        parkingSystem.book(car, regularSlot, startTime, endTime);
+        parkingSystem.book(bus, largeSlot, startTime, endTime);
+
+        assertEquals(2, parkingSystem.compactHistory(endTime.plusHours(1)), "Both finished bookings should be compacted");
+        assertEquals(1, regularSlot.getBookings().size(), "Compacted booking should still be listed on the slot");
+    }
+
+    @Test
+    void testBookAllAssignsDistinctSlots() {
+        for (int i = 0; i < 5; i++) {
+            parkingSystem.addParkingSlot(new ParkingSlot("FLEET" + i, ParkingSlotType.REGULAR));
+        }
+        List<BookingRequest> requests = new java.util.ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            requests.add(new BookingRequest(new Vehicle(500 + i, VehicleType.CAR, 1000.0), startTime, endTime));
+        }
+
+        List<BookingResult> results = parkingSystem.bookAll(requests, false);
+
+        assertEquals(6, results.size(), "There should be one result per request");
+        java.util.Set<ParkingSlot> used = new java.util.HashSet<>();
+        for (BookingResult result : results) {
+            assertTrue(result.isSuccess(), "Every car should fit into the 5 new REGULAR slots plus regular and large");
+            assertTrue(used.add(result.getBooking().getParkingSlot()), "No slot should be booked twice for the same window");
+        }
+        assertEquals(6, parkingSystem.getBookings().size(), "All bookings should be registered");
+        assertEquals(6 * 20.0, parkingSystem.getBalance(), 0.01, "System should collect every payment");
+    }
+
+    @Test
+    void testBookAllDebitsEachWalletOnce() {
+        int[] transfers = new int[1];
+        Wallet fleetWallet = new Wallet(1000.0) {
+            @Override
+            public void transferFunds(Wallet toWallet, double amount) {
+                transfers[0]++;
+                super.transferFunds(toWallet, amount);
+            }
+        };
+        List<BookingRequest> requests = List.of(
+            new BookingRequest(new Vehicle(601, VehicleType.CAR, fleetWallet), startTime, endTime),
+            new BookingRequest(new Vehicle(602, VehicleType.CAR, fleetWallet), startTime, endTime));
+
+        List<BookingResult> results = parkingSystem.bookAll(requests, false);
+
+        assertTrue(results.get(0).isSuccess() && results.get(1).isSuccess(), "Both fleet cars should be booked");
+        assertEquals(1, transfers[0], "Shared fleet wallet should be charged once");
+        assertEquals(1000.0 - 20.0 - 30.0, fleetWallet.getBalance(), 0.01, "Fleet wallet should pay for REGULAR and LARGE");
+    }
+
+    @Test
+    void testBookAllPartialFailures() {
+        Vehicle poorCar = new Vehicle(700, VehicleType.CAR, 1.0);
+        List<BookingRequest> requests = List.of(
+            new BookingRequest(car, startTime, endTime),
+            new BookingRequest(poorCar, startTime, endTime),
+            new BookingRequest(truck, startTime, endTime),
+            new BookingRequest(bus, endTime, startTime));
+
+        List<BookingResult> results = parkingSystem.bookAll(requests, false);
+
+        assertTrue(results.get(0).isSuccess(), "Funded car should be booked");
+        assertTrue(results.get(1).getFailure() instanceof InsufficientFundsException, "Unfunded car should fail on payment");
+        assertTrue(results.get(2).getFailure() instanceof IllegalArgumentException, "Truck should find no compatible slot");
+        assertTrue(results.get(3).getFailure() instanceof IllegalBookingTimeException, "Inverted window should be rejected");
+        assertEquals(1, parkingSystem.getBookings().size(), "Only the successful request should be registered");
+        assertEquals(1, regularSlot.getBookings().size() + largeSlot.getBookings().size(), "Failed reservations should be released");
+    }
+
+    @Test
+    void testBookAllAllOrNothingRollsBack() {
+        Vehicle poorCar = new Vehicle(701, VehicleType.CAR, 1.0);
+        List<BookingRequest> requests = List.of(
+            new BookingRequest(car, startTime, endTime),
+            new BookingRequest(poorCar, startTime, endTime));
+
+        List<BookingResult> results = parkingSystem.bookAll(requests, true);
+
+        assertTrue(results.get(0).getFailure() instanceof BatchAbortedException, "Funded request should be rolled back");
+        assertTrue(results.get(1).getFailure() instanceof InsufficientFundsException, "Failing request should keep its cause");
+        assertEquals(1000.0, car.getBalance(), 0.01, "Rolled back payment should be refunded");
+        assertEquals(0.0, parkingSystem.getBalance(), 0.01, "System wallet should be back to zero");
+        assertTrue(regularSlot.getBookings().isEmpty() && largeSlot.getBookings().isEmpty(), "Reservations should be released");
+        assertTrue(parkingSystem.getBookings().isEmpty(), "No booking should be registered");
+    }
+
+    @Test
+    void testRecommendParkingSlotsBestFirst() {
+        ParkingSlot compact2 = new ParkingSlot("COM002", ParkingSlotType.COMPACT);
+        parkingSystem.addParkingSlot(compact2);
+        parkingSystem.book(car, regularSlot, startTime, endTime);
+
+        List<ParkingSlot> cheapest = parkingSystem.recommendParkingSlots(motorcycle, startTime, endTime, 2, SlotRanking.cheapest());
+        assertEquals(List.of(compactSlot, compact2), cheapest, "Cheapest compact slots should be recommended in ID order");
+
+        List<ParkingSlot> all = parkingSystem.recommendParkingSlots(motorcycle, startTime, endTime, 5, SlotRanking.smallestFit());
+        assertEquals(List.of(compactSlot, compact2, largeSlot), all, "Booked slots should be skipped and fewer results returned");
+    }
+
+    @Test
+    void testRecommendParkingSlotsCustomRanking() {
+        java.util.Map<ParkingSlot, Double> distance = java.util.Map.of(regularSlot, 40.0, largeSlot, 5.0);
+        List<ParkingSlot> nearest = parkingSystem.recommendParkingSlots(car, startTime, endTime, 1,
+            SlotRanking.nearest(distance::get));
+
+        assertEquals(List.of(largeSlot), nearest, "Nearest slot should win even though it is dearer");
+        assertThrows(IllegalArgumentException.class,
+            () -> parkingSystem.recommendParkingSlots(car, startTime, endTime, 0, SlotRanking.cheapest()),
+            "A recommendation needs at least one slot");
+    }
+
+    @Test
+    void testStreamAvailableParkingSlotsIsLazy() {
+        parkingSystem.book(car, regularSlot, startTime, endTime);
+
+        assertEquals(java.util.Set.of(compactSlot, largeSlot),
+            parkingSystem.streamAvailableParkingSlots(motorcycle, startTime, endTime, false).collect(java.util.stream.Collectors.toSet()),
+            "Stream should hold the same slots as the list search");
+        assertEquals(java.util.Optional.of(largeSlot), parkingSystem.findAvailableParkingSlot(car, startTime, endTime),
+            "First free slot should skip the booked one");
+        assertTrue(parkingSystem.findAvailableParkingSlot(bus, LocalDateTime.of(2023, 10, 15, 9, 0), endTime).isPresent(),
+            "Large slot should be free for the bus");
+
+        int[] visits = new int[1];
+        ParkingSlot counting = new ParkingSlot("REG002", ParkingSlotType.REGULAR) {
+            @Override
+            public boolean isAvailable(long startMinute, long endMinute) {
+                visits[0]++;
+                return super.isAvailable(startMinute, endMinute);
+            }
+        };
+        parkingSystem.addParkingSlot(counting);
+        java.util.stream.Stream<ParkingSlot> slots = parkingSystem.streamAvailableParkingSlots(car, startTime, endTime, false);
+        assertEquals(0, visits[0], "No slot should be checked before the stream is consumed");
+        slots.findFirst();
+        assertTrue(visits[0] <= 1, "findFirst should stop at the first free slot");
+    }
+
+    @Test
+    void testParallelStreamAvailableParkingSlots() {
+        for (int i = 0; i < 500; i++) {
+            parkingSystem.addParkingSlot(new ParkingSlot("P" + i, ParkingSlotType.REGULAR));
+        }
+        java.util.stream.Stream<ParkingSlot> slots = parkingSystem.streamAvailableParkingSlots(car, startTime, endTime, true);
+
+        assertTrue(slots.isParallel(), "Parallel search should return a parallel stream");
+        assertEquals(502, slots.count(), "Parallel search should visit every free compatible slot");
+    }
+
+    @Test
+    void testPricingEngineIsPerFacility() {
+        parkingSystem.setPricingEngine(PricingEngine.defaults().toBuilder().prorateMinutes(true).build());
+        try {
+            assertEquals(15.0, parkingSystem.quote(car, regularSlot, startTime, startTime.plusMinutes(90)), 0.01,
+                "Quote should prorate minutes under the facility tariff");
+            Booking booking = parkingSystem.book(car, regularSlot, startTime, startTime.plusMinutes(90));
+            assertEquals(15.0, booking.getAmount(), 0.01, "Booking should be charged the quoted amount");
+
+            parkingSystem.setPARKING_RATE_PER_HOUR(20.0);
+            assertEquals(20.0, parkingSystem.getPARKING_RATE_PER_HOUR(), 0.01, "Base rate should be updated");
+            assertTrue(parkingSystem.getPricingEngine().isProratingMinutes(), "Changing the base rate should keep the tariff");
+        } finally {
+            parkingSystem.setPricingEngine(PricingEngine.defaults());
+        }
+    }
+
+    @Test
+    void testQuoteAllMatchesSingleQuotes() {
+        List<ParkingSlot> slots = parkingSystem.getAvailableParkingSlots(bicycle, startTime, endTime);
+        double[] prices = parkingSystem.quoteAll(bicycle, slots, startTime, endTime);
+
+        assertEquals(slots.size(), prices.length, "There should be one price per slot");
+        for (int i = 0; i < prices.length; i++) {
+            assertEquals(parkingSystem.quote(bicycle, slots.get(i), startTime, endTime), prices[i], 1e-9,
+                "Bulk price should match the single quote for " + slots.get(i).getSlotId());
+        }
+    }
+
+    @Test
+    void testSurgePricingFollowsOccupancy() {
+        parkingSystem.setSurgePolicy(SurgePolicy.linear(0.0, 2.0));
+        try {
+            assertEquals(20.0, parkingSystem.quote(car, regularSlot, startTime, endTime), 0.01, "An empty type should not surge");
+            assertEquals(0.0, parkingSystem.getOccupancy(ParkingSlotType.REGULAR, startTime), 0.01, "No regular slot is booked yet");
+
+            parkingSystem.addParkingSlot(new ParkingSlot("REG002", ParkingSlotType.REGULAR));
+            parkingSystem.book(car, regularSlot, startTime, endTime);
+            assertEquals(0.5, parkingSystem.getOccupancy(ParkingSlotType.REGULAR, startTime), 0.01, "Half the regular slots are booked");
+            assertEquals(30.0, parkingSystem.quote(microcar, regularSlot, startTime, endTime) / 1.5, 0.01,
+                "Half occupancy should raise the price by half");
+            assertArrayEquals(new double[] {45.0, 24.0}, parkingSystem.quoteAll(microcar, List.of(regularSlot, compactSlot), startTime, endTime), 0.01,
+                "Bulk quotes should apply each type's surge");
+        } finally {
+            parkingSystem.setSurgePolicy(SurgePolicy.NONE);
+        }
+    }
+
+    @Test
+    void testSearchFollowsRegistrationOrder() {
+        parkingSystem.getParkingSlots().clear();
+        List<ParkingSlot> added = new java.util.ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            ParkingSlot slot = new ParkingSlot("R" + i, ParkingSlotType.REGULAR);
+            added.add(slot);
+            parkingSystem.addParkingSlot(slot);
+        }
+
+        assertEquals(added, parkingSystem.getAvailableParkingSlots(car, startTime, endTime), "Search should list slots in registration order");
+        assertEquals(added.get(0), parkingSystem.findAvailableParkingSlot(car, startTime, endTime).orElseThrow(),
+            "First free slot should be the first registered");
+    }
+
+    @Test
+    void testBookAllPlacesConstrainedVehiclesFirst() {
+        compactSlot.deactivate();
+        List<BookingRequest> requests = List.of(
+            new BookingRequest(car, startTime, endTime),
+            new BookingRequest(bicycle, startTime, endTime),
+            new BookingRequest(bus, startTime, endTime));
+
+        List<BookingResult> results = parkingSystem.bookAll(requests, true);
+
+        assertTrue(results.stream().allMatch(BookingResult::isSuccess), "Every request should find a slot");
+        assertSame(largeSlot, results.get(2).getBooking().getParkingSlot(), "The bus should get the only large slot");
+        assertSame(regularSlot, results.get(0).getBooking().getParkingSlot(), "The car should get the regular slot");
+        assertSame(handicappedSlot, results.get(1).getBooking().getParkingSlot(), "The bicycle should take what is left");
+    }
+
+    @Test
+    void testBookAllFillsLeastContendedSlotTypesFirst() {
+        compactSlot.deactivate();
+        handicappedSlot.deactivate();
+        List<BookingRequest> requests = List.of(
+            new BookingRequest(car, startTime, endTime),
+            new BookingRequest(microcar, startTime, endTime));
+
+        List<BookingResult> results = parkingSystem.bookAll(requests, true);
+
+        assertTrue(results.stream().allMatch(BookingResult::isSuccess), "Both requests should find a slot");
+        assertSame(largeSlot, results.get(0).getBooking().getParkingSlot(), "The car should leave the regular slot to the microcar");
+        assertSame(regularSlot, results.get(1).getBooking().getParkingSlot(), "The microcar can only use the regular slot");
+    }
 }
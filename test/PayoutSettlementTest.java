@@ -0,0 +1,158 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+class PayoutSettlementTest {
+    private ParkingSystem system;
+    private PayoutSettlement settlement;
+    private ParkingSlot slot;
+    private Vehicle car;
+    private LocalDateTime startTime;
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void setUp() {
+        system = new ParkingSystem("deferred");
+        slot = new ParkingSlot("REG001", ParkingSlotType.REGULAR);
+        system.addParkingSlot(slot);
+        car = new Vehicle(1, VehicleType.CAR, 1000.0);
+        settlement = new PayoutSettlement(system, 50.0);
+        system.setPayoutSettlement(settlement);
+        startTime = LocalDateTime.of(2023, 10, 15, 10, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        settlement.close();
+    }
+
+    private void bookAndComplete(int hours) {
+        Booking booking = system.book(car, slot, startTime, startTime.plusHours(hours));
+        system.completeBooking(booking);
+        startTime = startTime.plusHours(hours);
+    }
+
+    @Test
+    void testPayoutsAccumulateUntilFlushed() {
+        bookAndComplete(2);
+        bookAndComplete(1);
+
+        assertEquals(0.0, slot.getWallet().getBalance(), 0.001, "Payouts should not reach the slot wallet yet");
+        assertEquals(24.0, slot.getBalance(), 0.001, "Slot balance should include pending payouts");
+        assertEquals(24.0, settlement.getPendingPayouts(), 0.001, "Settlement should report what it owes");
+        assertEquals(30.0, system.getBalance(), 0.001, "System wallet should hold payouts until settlement");
+
+        assertEquals(1, settlement.flush(), "Both payouts should settle in one transfer");
+        assertEquals(24.0, slot.getWallet().getBalance(), 0.001, "Flush should pay the slot wallet");
+        assertEquals(24.0, slot.getBalance(), 0.001, "Slot balance should be unchanged by a flush");
+        assertEquals(6.0, system.getBalance(), 0.001, "System should keep its share");
+        assertEquals(0, settlement.flush(), "Nothing should be left to settle");
+    }
+
+    @Test
+    void testThresholdSettlesImmediately() {
+        bookAndComplete(3);
+        bookAndComplete(4);
+
+        assertEquals(56.0, slot.getWallet().getBalance(), 0.001, "Reaching the threshold should settle at once");
+        assertEquals(0, slot.getPendingPayoutMinorUnits(), "Nothing should stay pending after settling");
+    }
+
+    @Test
+    void testScheduledFlushAndRemoval() throws Exception {
+        CountDownLatch flushed = new CountDownLatch(1);
+        settlement.close();
+        settlement = new PayoutSettlement(system, 50.0) {
+            @Override
+            public int flush() {
+                int settled = super.flush();
+                if (settled > 0) {
+                    flushed.countDown();
+                }
+                return settled;
+            }
+        };
+        system.setPayoutSettlement(settlement);
+        bookAndComplete(1);
+        settlement.start(Duration.ofMillis(10));
+
+        assertTrue(flushed.await(5, TimeUnit.SECONDS), "Scheduled flush should run");
+        assertEquals(8.0, slot.getWallet().getBalance(), 0.001, "Scheduled flush should pay pending payouts");
+
+        system.setPayoutSettlement(null);
+        bookAndComplete(1);
+        assertEquals(16.0, slot.getWallet().getBalance(), 0.001, "Without a settlement payouts should be immediate");
+    }
+
+    @Test
+    void testFlushIsJournaled() {
+        try (BookingJournal journal = BookingJournal.open(directory.resolve("journal.bin"))) {
+            system.setJournal(journal);
+            bookAndComplete(2);
+            settlement.flush();
+
+            ParkingSystem recovered = new ParkingSystem("deferred");
+            ParkingSlot recoveredSlot = new ParkingSlot("REG001", ParkingSlotType.REGULAR);
+            recovered.addParkingSlot(recoveredSlot);
+            recovered.recover(journal);
+
+            assertEquals(16.0, recoveredSlot.getWallet().getBalance(), 0.001, "Replay should restore the settled payout");
+            assertEquals(4.0, recovered.getBalance(), 0.001, "Replay should restore the system balance after settlement");
+        }
+    }
+
+    @Test
+    void testPendingPayoutsSurviveRecovery() {
+        try (BookingJournal journal = BookingJournal.open(directory.resolve("journal.bin"))) {
+            system.setJournal(journal);
+            bookAndComplete(2);
+
+            ParkingSystem recovered = new ParkingSystem("deferred");
+            ParkingSlot recoveredSlot = new ParkingSlot("REG001", ParkingSlotType.REGULAR);
+            recovered.addParkingSlot(recoveredSlot);
+            recovered.recover(journal);
+
+            assertEquals(1600, recoveredSlot.getPendingPayoutMinorUnits(), "Replay should restore the pending payout");
+            assertEquals(16.0, recoveredSlot.getBalance(), 0.001, "The slot should still be owed its payout");
+            assertEquals(20.0, recovered.getBalance(), 0.001, "The system wallet should still hold it");
+
+            try (PayoutSettlement adopted = new PayoutSettlement(recovered, 50.0)) {
+                recovered.setPayoutSettlement(adopted);
+                assertEquals(1, adopted.flush(), "A new settlement should pick up recovered payouts");
+            }
+            assertEquals(16.0, recoveredSlot.getWallet().getBalance(), 0.001, "The recovered payout should be settled");
+            assertEquals(4.0, recovered.getBalance(), 0.001, "The system should keep its share");
+            system.setJournal(null);
+        }
+    }
+
+    @Test
+    void testPendingPayoutsSurviveSnapshots() {
+        try (BookingJournal journal = BookingJournal.open(directory.resolve("journal.bin"))) {
+            system.setJournal(journal);
+            bookAndComplete(2);
+            Path snapshots = directory.resolve("snapshots");
+            FacilitySnapshot.write(system, snapshots);
+            bookAndComplete(1);
+
+            ParkingSystem loaded = FacilitySnapshot.load(FacilitySnapshot.latest(snapshots));
+            assertEquals(1600, loaded.getParkingSlots().get(0).getPendingPayoutMinorUnits(), "Snapshots should keep pending payouts");
+
+            ParkingSystem recovered = FacilitySnapshot.recover(snapshots, journal);
+            assertEquals(2400, recovered.getParkingSlots().get(0).getPendingPayoutMinorUnits(),
+                "Replaying the tail should bring pending payouts up to date");
+            assertEquals(slot.getBalance(), recovered.getParkingSlots().get(0).getBalance(), 0.001, "Slot balance should match");
+            assertEquals(system.getBalance(), recovered.getBalance(), 0.001, "System balance should match");
+            system.setJournal(null);
+        }
+    }
+}
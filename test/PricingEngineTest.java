@@ -0,0 +1,89 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+
+class PricingEngineTest {
+    // Monday
+    private final LocalDateTime monday = LocalDateTime.of(2023, 10, 16, 8, 0);
+
+    @Test
+    void testDefaultsMatchFlatHourlyTariff() {
+        PricingEngine pricing = PricingEngine.defaults();
+        for (VehicleType vehicleType : VehicleType.values()) {
+            for (ParkingSlotType slotType : ParkingSlotType.values()) {
+                double expected = 3 * 10.0 * pricing.getVehicleRate(vehicleType) * pricing.getSlotMultiplier(slotType);
+                assertEquals(expected, pricing.quote(vehicleType, slotType, monday, monday.plusHours(3)), 1e-9,
+                    "Default tariff should be flat for " + vehicleType + " in " + slotType);
+            }
+        }
+        assertEquals(0.2, pricing.getVehicleRate(VehicleType.BICYCLE), "Bicycle rate should be 0.2");
+        assertEquals(1.5, pricing.getSlotMultiplier(ParkingSlotType.LARGE), "Large multiplier should be 1.5");
+    }
+
+    @Test
+    void testWholeHoursTruncateAndMinutesProrate() {
+        PricingEngine hours = PricingEngine.defaults();
+        PricingEngine minutes = hours.toBuilder().prorateMinutes(true).build();
+
+        assertEquals(10.0, hours.quote(VehicleType.CAR, ParkingSlotType.REGULAR, monday, monday.plusMinutes(90)), 1e-9,
+            "Whole-hour billing should truncate 90 minutes to one hour");
+        assertEquals(15.0, minutes.quote(VehicleType.CAR, ParkingSlotType.REGULAR, monday, monday.plusMinutes(90)), 1e-9,
+            "Minute billing should charge 90 minutes");
+        assertEquals(0.0, hours.quote(VehicleType.CAR, ParkingSlotType.REGULAR, monday, monday.plusMinutes(30)), 1e-9,
+            "Less than an hour is free when billing whole hours");
+    }
+
+    @Test
+    void testTimeOfDayAndWeekendFactors() {
+        PricingEngine pricing = PricingEngine.builder()
+            .weekdayFactor(8, 10, 2.0)
+            .weekendFactor(0.5)
+            .prorateMinutes(true)
+            .build();
+
+        assertEquals(2.0, pricing.getHourFactor(DayOfWeek.FRIDAY, 9), "Weekday peak should apply on Friday");
+        assertEquals(1.0, pricing.getHourFactor(DayOfWeek.MONDAY, 10), "Peak should end at its end hour");
+        assertEquals(40.0, pricing.quote(VehicleType.CAR, ParkingSlotType.REGULAR, monday.plusMinutes(30), monday.plusHours(3)), 1e-9,
+            "Peak minutes 8:30-10:00 cost double, 10:00-11:00 normal");
+        LocalDateTime fridayNight = LocalDateTime.of(2023, 10, 20, 23, 0);
+        assertEquals(15.0, pricing.quote(VehicleType.CAR, ParkingSlotType.REGULAR, fridayNight, fridayNight.plusHours(2)), 1e-9,
+            "Hours crossing into Saturday should use the weekend factor");
+    }
+
+    @Test
+    void testMultiWeekBookingsUseWeeklyTotals() {
+        PricingEngine pricing = PricingEngine.builder().weekendFactor(0.5).build();
+        double oneWeek = pricing.quote(VehicleType.CAR, ParkingSlotType.REGULAR, monday, monday.plusWeeks(1));
+
+        assertEquals((5 * 24 + 2 * 24 * 0.5) * 10.0, oneWeek, 1e-6, "A week should sum every hour of the week");
+        assertEquals(3 * oneWeek + 10.0, pricing.quote(VehicleType.CAR, ParkingSlotType.REGULAR, monday, monday.plusWeeks(3).plusHours(1)), 1e-6,
+            "Full weeks plus a weekday hour should add up");
+    }
+
+    @Test
+    void testBuilderRejectsInvalidRates() {
+        assertThrows(IllegalArgumentException.class, () -> PricingEngine.builder().baseRate(-1.0),
+            "Negative rates should be rejected");
+        assertThrows(IllegalArgumentException.class, () -> PricingEngine.builder().hourFactor(DayOfWeek.MONDAY, 20, 25, 2.0),
+            "Hour ranges past midnight should be rejected");
+        assertEquals(12.0, PricingEngine.defaults().withBaseRate(12.0).quote(VehicleType.CAR, ParkingSlotType.REGULAR,
+            monday, monday.plusHours(1)), 1e-9, "Base rate should be replaceable");
+    }
+
+    @Test
+    void testQuoteAllGroupsBySlotType() {
+        PricingEngine pricing = PricingEngine.defaults();
+        java.util.List<ParkingSlot> slots = java.util.List.of(
+            new ParkingSlot("R1", ParkingSlotType.REGULAR),
+            new ParkingSlot("L1", ParkingSlotType.LARGE),
+            new ParkingSlot("R2", ParkingSlotType.REGULAR),
+            new ParkingSlot("C1", ParkingSlotType.COMPACT));
+
+        double[] prices = pricing.quoteAll(VehicleType.MOTORCYCLE, slots, FacilityTime.toMinutes(monday),
+            FacilityTime.toMinutes(monday.plusHours(2)));
+
+        assertArrayEquals(new double[] {10.0, 15.0, 10.0, 8.0}, prices, 1e-9, "Each slot should get its type's price, in order");
+        assertEquals(0, pricing.quoteAll(VehicleType.CAR, java.util.List.of(), 0, 60).length, "No slots should give no prices");
+    }
+}
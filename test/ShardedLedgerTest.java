@@ -0,0 +1,145 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+class ShardedLedgerTest {
+    private ShardedLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        ledger = new ShardedLedger(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ledger.close();
+    }
+
+    @Test
+    void testDebitGathersFromOtherShards() {
+        ledger.restore(10_000);
+        ledger.addFunds(50.0);
+
+        ledger.deductFunds(120.0);
+
+        assertEquals(30.0, ledger.getBalance(), 0.001, "Debit should draw on every shard it needs");
+        assertThrows(InsufficientFundsException.class, () -> ledger.deductFunds(30.01), "Ledger should not be overdrawn");
+        assertEquals(30.0, ledger.getBalance(), 0.001, "A failed debit should leave the balance intact");
+    }
+
+    @Test
+    void testConcurrentCreditsAndDebitsBalance() throws Exception {
+        ledger.restore(100_000);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    ledger.addFunds(1.0);
+                    ledger.deductFunds(0.5);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(1000.0 + 8 * 1000 * 0.5, ledger.getBalance(), 0.001, "No credit or debit should be lost");
+    }
+
+    @Test
+    void testRebalanceSpreadsBalance() {
+        ledger.restore(1003);
+        ledger.rebalance();
+
+        assertEquals(253, ledger.getShardBalanceMinorUnits(0), "First shard should keep the remainder");
+        for (int shard = 1; shard < ledger.getShardCount(); shard++) {
+            assertEquals(250, ledger.getShardBalanceMinorUnits(shard), "Shard " + shard + " should get an even share");
+        }
+        assertEquals(1003, ledger.getBalanceMinorUnits(), "Rebalancing should not change the total");
+    }
+
+    @Test
+    void testBackgroundRebalancer() throws Exception {
+        CountDownLatch rebalanced = new CountDownLatch(1);
+        ledger.close();
+        ledger = new ShardedLedger(4) {
+            @Override
+            public void rebalance() {
+                super.rebalance();
+                rebalanced.countDown();
+            }
+        };
+        ledger.restore(400);
+        ledger.startRebalancer(Duration.ofMillis(10));
+
+        assertTrue(rebalanced.await(5, TimeUnit.SECONDS), "Rebalancer should run on its schedule");
+        assertEquals(100, ledger.getShardBalanceMinorUnits(3), "Rebalancer should even out the shards");
+    }
+
+    @Test
+    void testSystemWalletSettlement() {
+        ParkingSystem system = new ParkingSystem("sharded");
+        system.setSYSTEM_WALLET(ledger);
+        ParkingSlot slot = new ParkingSlot("REG001", ParkingSlotType.REGULAR);
+        system.addParkingSlot(slot);
+        Vehicle car = new Vehicle(1, VehicleType.CAR, 100.0);
+        LocalDateTime start = LocalDateTime.of(2023, 10, 15, 10, 0);
+
+        Booking booking = system.book(car, slot, start, start.plusHours(2));
+        system.completeBooking(booking);
+
+        assertEquals(4.0, system.getBalance(), 0.001, "System balance should be the sum of its shards");
+        assertEquals(16.0, slot.getBalance(), 0.001, "Slot payout should come from the ledger");
+    }
+
+    @Test
+    void testSwitchingLedgersKeepsTheBalance() {
+        ParkingSystem system = new ParkingSystem("switched");
+        ParkingSlot slot = new ParkingSlot("REG001", ParkingSlotType.REGULAR);
+        system.addParkingSlot(slot);
+        Vehicle car = new Vehicle(1, VehicleType.CAR, 100.0);
+        LocalDateTime start = LocalDateTime.of(2023, 10, 15, 10, 0);
+        Booking first = system.book(car, slot, start, start.plusHours(2));
+        Wallet previous = system.getSYSTEM_WALLET();
+
+        try (ShardedLedger switched = system.useShardedLedger(4)) {
+            assertSame(switched, system.getSYSTEM_WALLET(), "The ledger should become the system wallet");
+            assertEquals(20.0, system.getBalance(), 0.001, "The collected balance should move to the ledger");
+            assertEquals(0.0, previous.getBalance(), 0.001, "The old wallet should be left empty");
+
+            system.completeBooking(first);
+            system.book(car, slot, start.plusHours(2), start.plusHours(4));
+            assertEquals(16.0, slot.getBalance(), 0.001, "Payouts should be paid from the migrated balance");
+            assertEquals(24.0, system.getBalance(), 0.001, "New charges should add to the migrated balance");
+        }
+    }
+
+    @Test
+    void testTotalStaysWholeDuringRebalance() throws Exception {
+        ledger.restore(1003);
+        Thread rebalancing = new Thread(() -> {
+            for (int i = 0; i < 20_000; i++) {
+                ledger.rebalance();
+            }
+        });
+        rebalancing.start();
+        long wrong = 0;
+        while (rebalancing.isAlive()) {
+            if (ledger.getBalanceMinorUnits() != 1003) {
+                wrong++;
+            }
+        }
+        rebalancing.join();
+
+        assertEquals(0, wrong, "Readers should never see units a rebalance is moving as missing");
+    }
+}
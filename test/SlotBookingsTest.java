@@ -0,0 +1,229 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.time.LocalDateTime;
+
+class SlotBookingsTest {
+    private SlotBookings bookings;
+    private ParkingSlot slot;
+    private Vehicle vehicle;
+    private LocalDateTime base;
+
+    @BeforeEach
+    void setUp() {
+        bookings = new SlotBookings();
+        slot = new ParkingSlot("SLOT001", ParkingSlotType.REGULAR);
+        vehicle = new Vehicle(1, VehicleType.CAR, 100.0);
+        base = LocalDateTime.of(2023, 10, 15, 0, 0);
+    }
+
+    private Booking booking(int id, int startHour, int endHour) {
+        return new Booking(id, vehicle, slot, base.plusHours(startHour), base.plusHours(endHour), 10.0);
+    }
+
+    @Test
+    void testEmptyIndexHasNoOverlaps() {
+        assertFalse(bookings.overlaps(base, base.plusHours(1)), "Empty index should not report overlaps");
+    }
+
+    @Test
+    void testOverlapWithLongEarlierBooking() {
+        bookings.add(booking(1, 0, 48));
+        for (int day = 0; day < 100; day++) {
+            bookings.add(booking(day + 2, 72 + day * 2, 73 + day * 2));
+        }
+
+        assertTrue(bookings.overlaps(base.plusHours(30), base.plusHours(31)),
+            "A long booking that started well before the window should still be found");
+        assertFalse(bookings.overlaps(base.plusHours(48), base.plusHours(72)),
+            "Gap between bookings should be free");
+        assertTrue(bookings.overlaps(base.plusHours(72), base.plusHours(74)),
+            "Window touching a later booking should overlap");
+    }
+
+    @Test
+    void testRemoveUpdatesIndex() {
+        Booking first = booking(1, 10, 12);
+        bookings.add(first);
+        assertTrue(bookings.overlaps(base.plusHours(11), base.plusHours(13)), "Booking should block its window");
+
+        bookings.remove(first);
+        assertFalse(bookings.overlaps(base.plusHours(11), base.plusHours(13)), "Removed booking should no longer block");
+        assertTrue(bookings.isEmpty(), "List should be empty after removal");
+    }
+
+    @Test
+    void testClearResetsIndex() {
+        bookings.add(booking(1, 10, 12));
+        bookings.add(booking(2, 14, 16));
+        bookings.clear();
+
+        assertFalse(bookings.overlaps(base, base.plusHours(24)), "Cleared index should not report overlaps");
+    }
+
+    @Test
+    void testBookingsWithSameStartTime() {
+        Booking shortOne = booking(1, 10, 11);
+        Booking longOne = booking(2, 10, 14);
+        bookings.add(shortOne);
+        bookings.add(longOne);
+
+        bookings.remove(shortOne);
+        assertTrue(bookings.overlaps(base.plusHours(12), base.plusHours(13)),
+            "Remaining booking with the same start time should still block");
+    }
+
+    @Test
+    void testListKeepsInsertionOrder() {
+        Booking late = booking(1, 20, 21);
+        Booking early = booking(2, 1, 2);
+        bookings.add(late);
+        bookings.add(early);
+
+        assertSame(late, bookings.get(0), "List order should follow insertion, not start time");
+        assertSame(early, bookings.get(1), "List order should follow insertion, not start time");
+    }
+
+    @Test
+    void testReleasedBookingMovesToHistory() {
+        Booking first = booking(1, 10, 12);
+        bookings.add(first);
+        first.cancelBooking();
+
+        assertTrue(bookings.release(first), "Live booking should be released");
+        assertFalse(bookings.overlaps(base.plusHours(10), base.plusHours(12)), "Released booking should not block");
+        assertEquals(0, bookings.liveSize(), "Released booking should leave the live set");
+        assertEquals(1, bookings.historySize(), "Released booking should be kept in history");
+        assertTrue(bookings.contains(first), "Released booking should still be listed");
+        assertFalse(bookings.release(first), "Releasing twice should be a no-op");
+    }
+
+    @Test
+    void testCancelledBookingDoesNotBlockEvenBeforeRelease() {
+        Booking first = booking(1, 10, 12);
+        bookings.add(first);
+        first.cancelBooking();
+
+        assertFalse(bookings.overlaps(base.plusHours(10), base.plusHours(12)), "Cancelled booking should never block");
+    }
+
+    @Test
+    void testClosedBookingAddedDirectlyGoesToHistory() {
+        Booking closed = booking(1, 10, 12);
+        closed.completeBooking();
+        bookings.add(closed);
+
+        assertEquals(1, bookings.historySize(), "Closed booking should be stored in history");
+        assertEquals(0, bookings.liveSize(), "Closed booking should not be live");
+    }
+
+    @Test
+    void testCompactMovesPastBookings() {
+        Booking past = booking(1, 1, 2);
+        Booking current = booking(2, 5, 8);
+        Booking future = booking(3, 10, 12);
+        bookings.add(past);
+        bookings.add(current);
+        bookings.add(future);
+
+        assertEquals(1, bookings.compact(base.plusHours(6)), "Only bookings that ended should be compacted");
+        assertEquals(2, bookings.liveSize(), "Running and future bookings should stay live");
+        assertEquals(past, bookings.get(0), "History should be listed first");
+        assertTrue(bookings.overlaps(base.plusHours(7), base.plusHours(9)), "Running booking should still block");
+        assertEquals(3, bookings.size(), "Compaction should not drop bookings from the list");
+    }
+
+    @Test
+    void testRemoveFromHistory() {
+        Booking first = booking(1, 1, 2);
+        bookings.add(first);
+        bookings.compact(base.plusHours(3));
+
+        assertTrue(bookings.remove(first), "History entries should be removable");
+        assertTrue(bookings.isEmpty(), "List should be empty after removal");
+    }
+
+    @Test
+    void testBitmapEngineMatchesExactEngine() {
+        SlotBookings exact = new SlotBookings(AvailabilityEngine.EXACT);
+        SlotBookings bitmap = new SlotBookings(AvailabilityEngine.BITMAP);
+        java.util.Random random = new java.util.Random(42);
+        java.util.List<Booking> added = new java.util.ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            LocalDateTime start = base.plusMinutes(random.nextInt(30 * 24 * 60));
+            Booking booking = new Booking(i, vehicle, slot, start, start.plusMinutes(1 + random.nextInt(600)), 10.0);
+            exact.add(booking);
+            bitmap.add(booking);
+            added.add(booking);
+            if (random.nextInt(4) == 0) {
+                Booking released = added.remove(random.nextInt(added.size()));
+                released.cancelBooking();
+                exact.release(released);
+                bitmap.release(released);
+            }
+        }
+        exact.compact(base.plusDays(3));
+        bitmap.compact(base.plusDays(3));
+
+        for (int i = 0; i < 2000; i++) {
+            LocalDateTime start = base.plusMinutes(random.nextInt(32 * 24 * 60) - 24 * 60);
+            LocalDateTime end = start.plusMinutes(random.nextInt(480) - 30);
+            assertEquals(exact.overlaps(start, end), bitmap.overlaps(start, end),
+                "Bitmap engine should agree with the interval index for " + start + " - " + end);
+        }
+    }
+
+    @Test
+    void testBitmapReleaseKeepsNeighbourInSharedBucket() {
+        SlotBookings bitmap = new SlotBookings(AvailabilityEngine.BITMAP);
+        Booking first = new Booking(1, vehicle, slot, base.plusMinutes(0), base.plusMinutes(20), 10.0);
+        Booking second = new Booking(2, vehicle, slot, base.plusMinutes(25), base.plusMinutes(40), 10.0);
+        bitmap.add(first);
+        bitmap.add(second);
+
+        first.cancelBooking();
+        bitmap.release(first);
+
+        assertTrue(bitmap.overlaps(base.plusMinutes(20), base.plusMinutes(30)), "Neighbour sharing a bucket should still block");
+        assertFalse(bitmap.overlaps(base, base.plusMinutes(15)), "Released booking should no longer block");
+        assertEquals(AvailabilityEngine.BITMAP, bitmap.getEngine(), "Engine should be reported");
+    }
+
+    @Test
+    void testReleasedLongBookingDoesNotWidenQueries() {
+        int[] endReads = new int[1];
+        for (int hour = 0; hour < 2000; hour++) {
+            bookings.add(new Booking(hour + 2, vehicle, slot, base.plusHours(2000 + hour), base.plusHours(2001 + hour), 10.0) {
+                @Override
+                public long getEndMinute() {
+                    endReads[0]++;
+                    return super.getEndMinute();
+                }
+            });
+        }
+        Booking month = booking(1, 0, 30 * 24);
+        bookings.add(month);
+        month.cancelBooking();
+        bookings.release(month);
+
+        endReads[0] = 0;
+        assertTrue(bookings.overlaps(base.plusHours(3500), base.plusHours(3501)), "Booked hour should overlap");
+        assertTrue(endReads[0] <= 4, "Query should only visit bookings next to the window, visited " + endReads[0]);
+    }
+
+    @Test
+    void testOverlappingDirectAddsStayCorrect() {
+        Booking wide = booking(1, 0, 10);
+        Booking inner = booking(2, 2, 3);
+        bookings.add(wide);
+        bookings.add(inner);
+        bookings.add(booking(3, 20, 21));
+
+        assertTrue(bookings.overlaps(base.plusHours(5), base.plusHours(6)), "Wide booking should still block behind a nested one");
+        bookings.remove(inner);
+        assertTrue(bookings.overlaps(base.plusHours(5), base.plusHours(6)), "Wide booking should block after the nested one is gone");
+        bookings.remove(wide);
+        assertFalse(bookings.overlaps(base.plusHours(5), base.plusHours(6)), "Window should be free once both are removed");
+        assertTrue(bookings.overlaps(base.plusHours(20), base.plusHours(22)), "Remaining booking should still be found");
+    }
+}
@@ -0,0 +1,184 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Arrays;
+
+class SlotInventoryTest {
+    private SlotInventory inventory;
+    private ParkingSlot compactSlot;
+    private ParkingSlot regularSlot;
+    private ParkingSlot largeSlot;
+
+    @BeforeEach
+    void setUp() {
+        inventory = new SlotInventory();
+        compactSlot = new ParkingSlot("COM001", ParkingSlotType.COMPACT);
+        regularSlot = new ParkingSlot("REG001", ParkingSlotType.REGULAR);
+        largeSlot = new ParkingSlot("LAR001", ParkingSlotType.LARGE);
+    }
+
+    @Test
+    void testSlotsArePartitionedByType() {
+        inventory.addAll(Arrays.asList(compactSlot, regularSlot, largeSlot));
+
+        assertEquals(3, inventory.size(), "Inventory should hold every added slot");
+        assertTrue(inventory.getActiveSlots(ParkingSlotType.LARGE).contains(largeSlot), "LARGE partition should contain the large slot");
+        assertFalse(inventory.getActiveSlots(ParkingSlotType.LARGE).contains(regularSlot), "LARGE partition should not contain other types");
+        assertEquals(0, inventory.countActive(ParkingSlotType.HANDICAPPED), "HANDICAPPED partition should be empty");
+    }
+
+    @Test
+    void testDeactivationRemovesSlotFromActivePartition() {
+        inventory.add(regularSlot);
+
+        regularSlot.deactivate();
+        assertFalse(inventory.getActiveSlots(ParkingSlotType.REGULAR).contains(regularSlot), "Deactivated slot should leave the active partition");
+        assertTrue(inventory.contains(regularSlot), "Deactivated slot should still be registered");
+
+        regularSlot.activate();
+        assertTrue(inventory.getActiveSlots(ParkingSlotType.REGULAR).contains(regularSlot), "Reactivated slot should return to the active partition");
+    }
+
+    @Test
+    void testSlotAddedWhileInactiveIsNotActive() {
+        largeSlot.deactivate();
+        inventory.add(largeSlot);
+
+        assertEquals(0, inventory.countActive(ParkingSlotType.LARGE), "Inactive slot should not be counted as active");
+    }
+
+    @Test
+    void testRemovedSlotNoLongerTracked() {
+        inventory.add(compactSlot);
+        inventory.remove(compactSlot);
+
+        compactSlot.deactivate();
+        compactSlot.activate();
+        assertEquals(0, inventory.countActive(ParkingSlotType.COMPACT), "Removed slot should not be re-added on activation");
+    }
+
+    @Test
+    void testClearEmptiesAllPartitions() {
+        inventory.addAll(Arrays.asList(compactSlot, regularSlot, largeSlot));
+        inventory.clear();
+
+        assertTrue(inventory.isEmpty(), "Inventory should be empty after clear");
+        for (ParkingSlotType type : ParkingSlotType.values()) {
+            assertEquals(0, inventory.countActive(type), "Partition " + type + " should be empty after clear");
+        }
+    }
+
+    @Test
+    void testBulkAddIndexesEverySlot() {
+        inventory.add(new ParkingSlot("R0", ParkingSlotType.REGULAR));
+        java.util.List<ParkingSlot> batch = new java.util.ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            batch.add(new ParkingSlot("R" + i, i % 2 == 0 ? ParkingSlotType.REGULAR : ParkingSlotType.LARGE));
+        }
+
+        assertTrue(inventory.addAll(batch), "Bulk add should report a change");
+        assertEquals(11, inventory.size(), "Bulk add should append");
+        assertEquals(6, inventory.countActive(ParkingSlotType.REGULAR), "Bulk added slots should be indexed");
+        batch.get(0).deactivate();
+        assertEquals(4, inventory.countActive(ParkingSlotType.LARGE), "Bulk added slots should follow activation changes");
+        assertFalse(inventory.addAll(java.util.List.of()), "Adding nothing should report no change");
+    }
+
+    @Test
+    void testOccupancyFollowsBookingsAndActivation() {
+        ParkingSlot regular2 = new ParkingSlot("REG002", ParkingSlotType.REGULAR);
+        inventory.addAll(Arrays.asList(regularSlot, regular2));
+        long start = FacilityTime.toMinutes(java.time.LocalDateTime.of(2023, 10, 15, 10, 0));
+        Booking booking = new Booking(1, new Vehicle(1, VehicleType.CAR, 100.0), regularSlot, start, start + 90, 15.0);
+
+        regularSlot.getBookings().add(booking);
+        assertEquals(0.5, inventory.getOccupancy(ParkingSlotType.REGULAR, start), 1e-9, "One of two regular slots is taken");
+        assertEquals(0.5, inventory.getOccupancy(ParkingSlotType.REGULAR, start + 60), 1e-9, "A started hour counts as taken");
+        assertEquals(0.0, inventory.getOccupancy(ParkingSlotType.REGULAR, start + 120), 1e-9, "Hours after the booking are free");
+
+        regular2.deactivate();
+        assertEquals(1.0, inventory.getOccupancy(ParkingSlotType.REGULAR, start), 1e-9, "Deactivation should shrink capacity");
+
+        booking.cancelBooking();
+        regularSlot.releaseBooking(booking);
+        assertEquals(0.0, inventory.getOccupancy(ParkingSlotType.REGULAR, start), 1e-9, "Released bookings should free their hours");
+    }
+
+    @Test
+    void testOccupancyOfAddedAndRemovedSlots() {
+        long start = FacilityTime.toMinutes(java.time.LocalDateTime.of(2023, 10, 15, 10, 0));
+        largeSlot.getBookings().add(new Booking(1, new Vehicle(1, VehicleType.BUS, 100.0), largeSlot, start, start + 60, 30.0));
+
+        inventory.add(largeSlot);
+        assertEquals(1, inventory.getOccupancyCounters().getBooked(ParkingSlotType.LARGE, start), "Existing bookings should be counted on add");
+
+        inventory.remove(largeSlot);
+        assertEquals(0, inventory.getOccupancyCounters().getBooked(ParkingSlotType.LARGE, start), "Removed slots should no longer count");
+        assertEquals(0, inventory.countActive(ParkingSlotType.LARGE), "Removed slots should not be active");
+    }
+
+    @Test
+    void testActiveSlotsKeepRegistrationOrder() {
+        java.util.List<ParkingSlot> added = new java.util.ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            added.add(new ParkingSlot("R" + i, ParkingSlotType.REGULAR));
+        }
+        inventory.addAll(added);
+        added.get(2).deactivate();
+        added.get(2).activate();
+
+        assertEquals(added, new java.util.ArrayList<>(inventory.getActiveSlots(ParkingSlotType.REGULAR)),
+            "Active slots should be listed in registration order, also after being toggled");
+    }
+
+    @Test
+    void testOccupancyCountsSlotsNotBookings() {
+        java.util.List<ParkingSlot> regulars = new java.util.ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            regulars.add(new ParkingSlot("REG10" + i, ParkingSlotType.REGULAR));
+        }
+        inventory.addAll(regulars);
+        ParkingSlot booked = regulars.get(0);
+        long start = FacilityTime.toMinutes(java.time.LocalDateTime.of(2023, 10, 15, 10, 0));
+        for (int i = 0; i < 4; i++) {
+            booked.getBookings().add(new Booking(i + 1, new Vehicle(i + 1, VehicleType.CAR, 100.0), booked,
+                start + 15 * i, start + 15 * (i + 1), 5.0));
+        }
+        assertEquals(0.25, inventory.getOccupancy(ParkingSlotType.REGULAR, start + 30), 1e-9, "Four short bookings on one slot take one of four slots");
+
+        booked.deactivate();
+        assertEquals(0.0, inventory.getOccupancy(ParkingSlotType.REGULAR, start + 30), 1e-9, "Bookings on an inactive slot should not count");
+        booked.activate();
+        assertEquals(0.25, inventory.getOccupancy(ParkingSlotType.REGULAR, start + 30), 1e-9, "Reactivation should count the slot's bookings again");
+    }
+
+    @Test
+    void testConcurrentTogglesLeaveSlotInMatchingPartition() throws Exception {
+        ParkingSlot slot = new ParkingSlot("REG100", ParkingSlotType.REGULAR);
+        inventory.add(slot);
+        for (int round = 0; round < 2000; round++) {
+            Thread on = new Thread(slot::activate);
+            Thread off = new Thread(slot::deactivate);
+            on.start();
+            off.start();
+            on.join();
+            off.join();
+            assertEquals(slot.isActive(), inventory.getActiveSlots(ParkingSlotType.REGULAR).contains(slot),
+                "Round " + round + ": the active partition should match the slot's last state");
+            assertEquals(slot.isActive() ? 1 : 0, inventory.countActive(ParkingSlotType.REGULAR),
+                "Round " + round + ": the active count should match the slot's last state");
+        }
+
+        Thread toggling = new Thread(() -> {
+            for (int i = 0; i < 2000; i++) {
+                slot.deactivate();
+                slot.activate();
+            }
+        });
+        toggling.start();
+        inventory.remove(slot);
+        toggling.join();
+        assertFalse(inventory.getActiveSlots(ParkingSlotType.REGULAR).contains(slot), "A removed slot should stay out of the partition");
+        assertEquals(0, inventory.countActive(ParkingSlotType.REGULAR), "A removed slot should not be counted");
+    }
+}
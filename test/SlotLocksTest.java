@@ -0,0 +1,25 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlotLocksTest {
+
+    @Test
+    void testStripeCountRoundsUpToPowerOfTwo() {
+        assertEquals(1, new SlotLocks(1).getStripeCount(), "Single stripe should stay single");
+        assertEquals(8, new SlotLocks(5).getStripeCount(), "Stripe count should round up to a power of two");
+        assertEquals(SlotLocks.DEFAULT_STRIPES, new SlotLocks().getStripeCount(), "Default stripe count should be used");
+    }
+
+    @Test
+    void testInvalidStripeCount() {
+        assertThrows(IllegalArgumentException.class, () -> new SlotLocks(0), "Zero stripes should be rejected");
+    }
+
+    @Test
+    void testSameSlotAlwaysMapsToSameLock() {
+        SlotLocks locks = new SlotLocks(16);
+        ParkingSlot slot = new ParkingSlot("REG001", ParkingSlotType.REGULAR);
+
+        assertSame(locks.lockFor(slot), locks.lockFor(slot), "A slot should always use the same stripe");
+    }
+}
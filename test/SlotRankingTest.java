@@ -0,0 +1,37 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+
+class SlotRankingTest {
+    @Test
+    void testCheapestOrdersByMultiplier() {
+        SlotRanking ranking = SlotRanking.cheapest();
+
+        assertTrue(ranking.isTypeMajor(), "Cheapest ranking should order by type first");
+        assertTrue(ranking.typeRank(ParkingSlotType.COMPACT) < ranking.typeRank(ParkingSlotType.REGULAR), "Compact is cheaper than regular");
+        assertTrue(ranking.typeRank(ParkingSlotType.REGULAR) < ranking.typeRank(ParkingSlotType.HANDICAPPED), "Regular is cheaper than handicapped");
+        assertTrue(ranking.typeRank(ParkingSlotType.HANDICAPPED) < ranking.typeRank(ParkingSlotType.LARGE), "Handicapped is cheaper than large");
+    }
+
+    @Test
+    void testSmallestFitBreaksTiesById() {
+        ParkingSlot b = new ParkingSlot("B", ParkingSlotType.REGULAR);
+        ParkingSlot a = new ParkingSlot("A", ParkingSlotType.REGULAR);
+        ParkingSlot large = new ParkingSlot("0", ParkingSlotType.LARGE);
+        ParkingSlot handicapped = new ParkingSlot("1", ParkingSlotType.HANDICAPPED);
+        List<ParkingSlot> slots = new ArrayList<>(List.of(handicapped, b, large, a));
+
+        slots.sort(SlotRanking.smallestFit());
+
+        assertEquals(List.of(a, b, large, handicapped), slots, "Smaller types first, handicapped last, ties by ID");
+    }
+
+    @Test
+    void testCustomRankingIsNotTypeMajor() {
+        SlotRanking ranking = SlotRanking.by(java.util.Comparator.comparing(ParkingSlot::getSlotId));
+
+        assertFalse(ranking.isTypeMajor(), "Custom rankings cannot skip types");
+        assertEquals(0, ranking.typeRank(ParkingSlotType.LARGE), "Custom rankings should rank all types equally");
+    }
+}
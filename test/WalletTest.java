@@ -146,4 +146,61 @@ class WalletTest {
         assertEquals(70.0, wallet.getBalance(), 0.01, "Multiple operations should result in correct balance");
         assertEquals(40.0, targetWallet.getBalance(), 0.01, "Target wallet should have transferred amount");
     }
+
+    @Test
+    void testFixedPointBalanceHasNoRoundingDrift() {
+        for (int i = 0; i < 10; i++) {
+            wallet.addFunds(0.1);
+        }
+        assertEquals(100, wallet.getBalanceMinorUnits(), "Ten credits of 0.1 should be exactly 100 cents");
+        assertEquals(1.0, wallet.getBalance(), 0.0, "Balance should be exact after repeated small credits");
+    }
+
+    @Test
+    void testConcurrentCreditsAreNotLost() throws Exception {
+        int threads = 8;
+        int creditsPerThread = 10_000;
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                for (int i = 0; i < creditsPerThread; i++) {
+                    wallet.addFunds(0.01);
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals(threads * creditsPerThread, wallet.getBalanceMinorUnits(), "Every concurrent credit should be counted");
+    }
+
+    @Test
+    void testConcurrentDebitsNeverOverdraw() throws Exception {
+        wallet.addFunds(100.0);
+        int threads = 8;
+        java.util.concurrent.atomic.AtomicInteger succeeded = new java.util.concurrent.atomic.AtomicInteger();
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                for (int i = 0; i < 100; i++) {
+                    try {
+                        wallet.transferFunds(targetWallet, 1.0);
+                        succeeded.incrementAndGet();
+                    } catch (InsufficientFundsException expected) {
+                        // wallet drained by other threads
+                    }
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals(100, succeeded.get(), "Exactly the available balance should be transferred");
+        assertEquals(0.0, wallet.getBalance(), 0.0, "Source wallet should be drained but not negative");
+        assertEquals(100.0, targetWallet.getBalance(), 0.0, "Target wallet should receive every successful transfer");
+    }
 }